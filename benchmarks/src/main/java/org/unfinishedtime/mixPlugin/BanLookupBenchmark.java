@@ -0,0 +1,97 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BanLookupBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bans;
+
+    private PluginFixture fixture;
+    private InetAddress address;
+    private UUID bannedId;
+    private UUID unbannedId;
+    private String bannedName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = PluginFixture.start(bans, 10);
+        address = InetAddress.getLoopbackAddress();
+        bannedId = PluginFixture.bannedId(bans / 2);
+        bannedName = PluginFixture.bannedName(bans / 2);
+        unbannedId = UUID.randomUUID();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public AsyncPlayerPreLoginEvent preLoginNotBanned() {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("Player", address, unbannedId);
+        fixture.plugin.onAsyncPlayerPreLogin(event);
+        return event;
+    }
+
+    @Benchmark
+    public AsyncPlayerPreLoginEvent preLoginBanned() {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent(bannedName, address, bannedId);
+        fixture.plugin.onAsyncPlayerPreLogin(event);
+        return event;
+    }
+
+    @Benchmark
+    public UUID findBannedPlayerByName() throws Throwable {
+        return fixture.findBannedPlayer(bannedName);
+    }
+
+    @Benchmark
+    public UUID findBannedPlayerByUuid() throws Throwable {
+        return fixture.findBannedPlayer(bannedId.toString());
+    }
+
+    @Benchmark
+    public String renderBansYaml() throws Throwable {
+        return fixture.renderBans();
+    }
+}
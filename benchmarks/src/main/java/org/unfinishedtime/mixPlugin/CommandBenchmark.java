@@ -0,0 +1,101 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bans;
+
+    @Param({"10", "500", "2000"})
+    public int players;
+
+    private PluginFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = PluginFixture.start(bans, players);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<String> tabCompleteSubcommand() {
+        return fixture.plugin.onTabComplete(fixture.console, fixture.command, "mp", new String[]{""});
+    }
+
+    @Benchmark
+    public List<String> tabCompleteTpaEmpty() {
+        return fixture.plugin.onTabComplete(fixture.console, fixture.command, "mp", new String[]{"tpa", ""});
+    }
+
+    @Benchmark
+    public List<String> tabCompleteTpaPrefix() {
+        return fixture.plugin.onTabComplete(fixture.console, fixture.command, "mp", new String[]{"tpa", "Player1"});
+    }
+
+    @Benchmark
+    public List<String> tabCompleteBanPrefix() {
+        return fixture.plugin.onTabComplete(fixture.console, fixture.command, "mp", new String[]{"ban", "pl"});
+    }
+
+    @Benchmark
+    public List<String> tabCompleteUnbanPrefix() {
+        return fixture.plugin.onTabComplete(fixture.console, fixture.command, "mp", new String[]{"unban", "Banned1"});
+    }
+
+    @Benchmark
+    public boolean showBanListFirstPage() {
+        return fixture.plugin.onCommand(fixture.console, fixture.command, "mp", new String[]{"bans"});
+    }
+
+    @Benchmark
+    public boolean showBanListLastPage() {
+        return fixture.plugin.onCommand(fixture.console, fixture.command, "mp", new String[]{"bans", "999999", "expiry"});
+    }
+
+    @Benchmark
+    public boolean showBanListFiltered() {
+        return fixture.plugin.onCommand(fixture.console, fixture.command, "mp", new String[]{"bans", "1", "Admin3"});
+    }
+}
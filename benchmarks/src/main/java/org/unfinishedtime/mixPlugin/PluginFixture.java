@@ -0,0 +1,132 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.unfinishedtime.mixPlugin.fake.FakeServer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+final class PluginFixture implements AutoCloseable {
+
+    static final long FAR_FUTURE = System.currentTimeMillis() + 365L * 86_400_000L;
+
+    final FakeServer fake;
+    final MixPlugin plugin;
+    final Command command;
+    final CommandSender console;
+    final Path dataFolder;
+    private final MethodHandle findBannedPlayer;
+    private final MethodHandle renderBans;
+    private final Object banStore;
+
+    private PluginFixture(FakeServer fake, MixPlugin plugin, Path dataFolder) throws ReflectiveOperationException {
+        this.fake = fake;
+        this.plugin = plugin;
+        this.command = fake.server().getPluginCommand("mp");
+        this.console = fake.console();
+        this.dataFolder = dataFolder;
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(MixPlugin.class, MethodHandles.lookup());
+        this.findBannedPlayer = lookup.findVirtual(MixPlugin.class, "findBannedPlayer",
+                MethodType.methodType(UUID.class, String.class));
+        this.banStore = lookup.findVarHandle(MixPlugin.class, "banStore", BanStore.class).get(plugin);
+        this.renderBans = MethodHandles.privateLookupIn(YamlBanStore.class, MethodHandles.lookup())
+                .findVirtual(YamlBanStore.class, "render", MethodType.methodType(String.class));
+    }
+
+    static PluginFixture start(int bans, int onlinePlayers) throws Exception {
+        FakeServer fake = FakeServer.install();
+        fake.reset();
+        World world = fake.addWorld("world");
+        for (int i = 0; i < onlinePlayers; i++) {
+            fake.addPlayer("Player" + i, world);
+        }
+
+        Path dataFolder = Files.createTempDirectory("mixplugin-bench");
+        writeBans(dataFolder.resolve("bans.yml"), bans);
+
+        PluginDescriptionFile description;
+        try (InputStream in = MixPlugin.class.getResourceAsStream("/plugin.yml")) {
+            description = new PluginDescriptionFile(in);
+        }
+        MixPlugin plugin = new MixPlugin(new JavaPluginLoader(fake.server()), description,
+                dataFolder.toFile(), new File(dataFolder.toFile(), "MixPlugin.jar"));
+        fake.registerCommand("mp", plugin);
+        plugin.onEnable();
+        try {
+            return new PluginFixture(fake, plugin, dataFolder);
+        } catch (Throwable t) {
+            plugin.onDisable();
+            throw t;
+        }
+    }
+
+    static UUID bannedId(int i) {
+        return UUID.nameUUIDFromBytes(("ban:" + i).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String bannedName(int i) {
+        return "Banned" + i;
+    }
+
+    UUID findBannedPlayer(String input) throws Throwable {
+        return (UUID) findBannedPlayer.invoke(plugin, input);
+    }
+
+    String renderBans() throws Throwable {
+        return (String) renderBans.invoke(banStore);
+    }
+
+    @Override
+    public void close() throws IOException {
+        plugin.onDisable();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void writeBans(Path file, int count) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("bans:\n");
+            for (int i = 0; i < count; i++) {
+                out.write("  " + bannedId(i) + ":\n");
+                out.write("    name: " + bannedName(i) + "\n");
+                out.write("    reason: 使用外挂 #" + (i % 17) + "\n");
+                out.write("    operator: Admin" + (i % 5) + "\n");
+                out.write("    until: " + (i % 2 == 0 ? 0 : FAR_FUTURE + i) + "\n");
+                out.write("    date: '2025-01-" + String.format("%02d", 1 + i % 28) + " 12:00:00'\n");
+            }
+        }
+    }
+}
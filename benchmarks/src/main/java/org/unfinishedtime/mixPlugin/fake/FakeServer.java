@@ -0,0 +1,221 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin.fake;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process stand-in for the Bukkit server used by the benchmarks. Every API object is a dynamic
+ * proxy that answers the handful of calls MixPlugin makes and returns defaults for everything else.
+ */
+public final class FakeServer {
+
+    private static FakeServer instance;
+
+    private final Logger logger = Logger.getLogger("FakeServer");
+    private final List<Player> onlinePlayers = new ArrayList<>();
+    private final Map<UUID, Player> playersById = new HashMap<>();
+    private final Map<String, Player> playersByName = new HashMap<>();
+    private final Map<UUID, OfflinePlayer> offlinePlayers = new HashMap<>();
+    private final Map<String, World> worlds = new HashMap<>();
+    private final Map<String, PluginCommand> commands = new HashMap<>();
+    private final Server server;
+
+    private FakeServer() {
+        logger.setLevel(Level.WARNING);
+        server = proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "FakeServer";
+            case "getVersion", "getBukkitVersion" -> "1.21-R0.1-SNAPSHOT";
+            case "getLogger" -> logger;
+            case "getOnlinePlayers" -> Collections.unmodifiableList(onlinePlayers);
+            case "getPlayer", "getPlayerExact" -> args[0] instanceof UUID id ?
+                    playersById.get(id) : playersByName.get(((String) args[0]).toLowerCase(Locale.ROOT));
+            case "getOfflinePlayer" -> offlinePlayer((UUID) args[0]);
+            case "getWorld" -> args[0] instanceof String name ? worlds.get(name) : worlds.values().stream()
+                    .filter(world -> world.getUID().equals(args[0])).findFirst().orElse(null);
+            case "getWorlds" -> new ArrayList<>(worlds.values());
+            case "getPluginCommand" -> commands.get((String) args[0]);
+            case "getScheduler" -> scheduler();
+            case "getPluginManager" -> proxy(PluginManager.class, (p, m, a) -> defaultValue(m));
+            case "getConsoleSender" -> console();
+            case "isPrimaryThread" -> true;
+            default -> defaultValue(method);
+        });
+    }
+
+    public static synchronized FakeServer install() {
+        if (instance == null) {
+            instance = new FakeServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    public Server server() {
+        return server;
+    }
+
+    public Logger logger() {
+        return logger;
+    }
+
+    public void reset() {
+        onlinePlayers.clear();
+        playersById.clear();
+        playersByName.clear();
+        offlinePlayers.clear();
+        commands.clear();
+    }
+
+    public World addWorld(String name) {
+        UUID id = UUID.nameUUIDFromBytes(("world:" + name).getBytes());
+        World world = proxy(World.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> id;
+                    case "getSpawnLocation" -> new Location((World) proxy, 0, 64, 0);
+                    case "isChunkLoaded", "setSpawnLocation", "addPluginChunkTicket", "removePluginChunkTicket" -> true;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> id.hashCode();
+                    default -> defaultValue(method);
+                };
+            }
+        });
+        worlds.put(name, world);
+        return world;
+    }
+
+    public Player addPlayer(String name, World world) {
+        UUID id = UUID.nameUUIDFromBytes(("player:" + name).getBytes());
+        Location location = new Location(world, 0, 64, 0);
+        Player player = proxy(Player.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName", "getDisplayName" -> name;
+            case "getUniqueId" -> id;
+            case "getLocation" -> location.clone();
+            case "getWorld" -> world;
+            case "getLocale" -> "zh_cn";
+            case "getServer" -> server;
+            case "isOnline", "isValid", "hasPlayedBefore", "teleport", "hasPermission", "isOp" -> true;
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> id.hashCode();
+            case "toString" -> "FakePlayer{" + name + "}";
+            default -> defaultValue(method);
+        });
+        onlinePlayers.add(player);
+        playersById.put(id, player);
+        playersByName.put(name.toLowerCase(Locale.ROOT), player);
+        return player;
+    }
+
+    public OfflinePlayer addOfflinePlayer(UUID id, String name) {
+        OfflinePlayer player = proxy(OfflinePlayer.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUniqueId" -> id;
+            case "hasPlayedBefore" -> true;
+            default -> defaultValue(method);
+        });
+        offlinePlayers.put(id, player);
+        return player;
+    }
+
+    public PluginCommand registerCommand(String name, Plugin plugin) {
+        try {
+            Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+            constructor.setAccessible(true);
+            PluginCommand command = constructor.newInstance(name, plugin);
+            commands.put(name, command);
+            return command;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create command " + name, e);
+        }
+    }
+
+    public CommandSender console() {
+        return proxy(ConsoleCommandSender.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "CONSOLE";
+            case "getServer" -> server;
+            case "hasPermission", "isOp", "isPermissionSet" -> true;
+            default -> defaultValue(method);
+        });
+    }
+
+    private OfflinePlayer offlinePlayer(UUID id) {
+        Player online = playersById.get(id);
+        if (online != null) return online;
+        OfflinePlayer offline = offlinePlayers.get(id);
+        return offline != null ? offline : addOfflinePlayer(id, null);
+    }
+
+    private BukkitScheduler scheduler() {
+        return proxy(BukkitScheduler.class, (proxy, method, args) -> {
+            if (method.getReturnType() == BukkitTask.class) {
+                return proxy(BukkitTask.class, (p, m, a) -> defaultValue(m));
+            }
+            return defaultValue(method);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(FakeServer.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) {
+            if (type == String.class) return "";
+            if (type == List.class || type == Collection.class) return Collections.emptyList();
+            return null;
+        }
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+final class AuditLog {
+
+    enum Action { BAN, UNBAN, EXPIRE }
+
+    record Entry(UUID uuid, Action action, long time, String name, String reason, String operator, long until) {}
+
+    record History(List<Entry> entries, int total) {}
+
+    private static final int INDEX_MAGIC = 0x4D504149;
+    private static final int INDEX_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SLOT_SIZE = 24;
+    private static final int INITIAL_CAPACITY = 1 << 14;
+    private static final int RECORD_HEADER = 4 + 16 + 1 + 8 + 8 + 8;
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+
+    private final File directory;
+    private final File indexFile;
+    private final long segmentSize;
+    private final long retentionMillis;
+    private final Logger logger;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MixPlugin-AuditLog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Integer, MappedByteBuffer> sealed = new HashMap<>();
+    private FileChannel active;
+    private int activeSegment;
+    private long activeSize;
+    private int firstSegment;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+
+    AuditLog(File directory, long segmentSize, long retentionMillis, Logger logger) {
+        this.directory = directory;
+        this.indexFile = new File(directory, "audit.idx");
+        this.segmentSize = segmentSize;
+        this.retentionMillis = retentionMillis;
+        this.logger = logger;
+    }
+
+    void open() throws IOException {
+        try {
+            executor.submit(() -> {
+                doOpen();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while opening the audit log", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    void record(Action action, BanEntry ban, String operator, long time) {
+        submit(() -> append(action, ban.uuid(), ban.name(), ban.reason(), operator, ban.until(), time));
+    }
+
+    // IP and range bans are keyed by their 128-bit address, so /mp history can look them up like a player
+    void recordIp(Action action, IpBan ban, String operator, long time) {
+        submit(() -> append(action, ban.range().auditKey(), ban.range().toString(), ban.reason(), operator,
+                ban.until(), time));
+    }
+
+    void recordAll(Action action, Collection<BanEntry> bans, long time) {
+        List<BanEntry> batch = List.copyOf(bans);
+        submit(() -> {
+            for (BanEntry ban : batch) append(action, ban.uuid(), ban.name(), ban.reason(), ban.operator(), ban.until(), time);
+        });
+    }
+
+    void history(UUID uuid, int limit, Consumer<History> callback) {
+        submit(() -> {
+            List<Entry> entries = new ArrayList<>(Math.min(limit, 16));
+            int total = 0;
+            try {
+                long pointer = active != null ? lookup(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) : 0;
+                while (pointer != 0 && segmentOf(pointer) >= firstSegment) {
+                    ByteBuffer record = readRecord(pointer);
+                    if (total++ < limit) entries.add(decode(record));
+                    pointer = record.getLong(RECORD_HEADER - 8);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Failed to read audit history for " + uuid + ": " + e.getMessage());
+            }
+            callback.accept(new History(entries, total));
+        });
+    }
+
+    void compact() {
+        if (retentionMillis <= 0) return;
+        submit(() -> {
+            long cutoff = System.currentTimeMillis() - retentionMillis;
+            int removed = 0;
+            while (firstSegment < activeSegment) {
+                File file = segmentFile(firstSegment);
+                if (file.exists() && file.lastModified() >= cutoff) break;
+                sealed.remove(firstSegment);
+                if (file.exists() && !file.delete()) {
+                    logger.warning("Failed to delete audit segment " + file.getName());
+                    break;
+                }
+                firstSegment++;
+                removed++;
+            }
+            if (removed > 0) logger.info("Removed " + removed + " audit log segments older than the retention period");
+        });
+    }
+
+    void close() {
+        if (executor.isShutdown()) return;
+        executor.execute(() -> {
+            try {
+                if (index != null) index.force();
+                if (active != null) {
+                    active.force(true);
+                    active.close();
+                }
+            } catch (IOException e) {
+                logger.severe("Failed to close the audit log: " + e.getMessage());
+            }
+            active = null;
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for pending audit log writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Bans can still be recorded from async pre-login or history callbacks while the plugin is disabling
+    private void submit(Runnable task) {
+        if (executor.isShutdown()) return;
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ignored) {}
+    }
+
+    private void doOpen() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) throw new IOException("Failed to create " + directory);
+
+        TreeSet<Integer> segments = new TreeSet<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    segments.add(Integer.parseInt(file.getName().substring(0, file.getName().length() - 4)));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        firstSegment = segments.isEmpty() ? 1 : segments.first();
+        activeSegment = segments.isEmpty() ? 1 : segments.last();
+        openActive();
+
+        int indexedSegment = firstSegment;
+        long indexedOffset = 0;
+        if (indexFile.exists() && indexFile.length() >= HEADER_SIZE) {
+            // The header is validated before mapping, so a corrupt file is never mapped and can be replaced below
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+                channel.read(header, 0);
+            }
+            if (!header.hasRemaining() && header.getInt(0) == INDEX_MAGIC && header.getInt(4) == INDEX_VERSION
+                    && indexFile.length() == HEADER_SIZE + (long) header.getInt(8) * SLOT_SIZE) {
+                index = map(indexFile, indexFile.length());
+                capacity = index.getInt(8);
+                size = index.getInt(12);
+                indexedSegment = Math.max(firstSegment, index.getInt(16));
+                indexedOffset = indexedSegment == index.getInt(16) ? index.getLong(24) : 0;
+            } else {
+                logger.warning("Audit index is corrupt, rebuilding it");
+            }
+        }
+        if (index == null) {
+            // Stale slots or a longer file would survive createIndex and undercount size, so start from an empty file
+            Files.deleteIfExists(indexFile.toPath());
+            index = createIndex(indexFile, INITIAL_CAPACITY);
+            capacity = INITIAL_CAPACITY;
+            size = 0;
+        }
+        catchUp(indexedSegment, indexedOffset);
+    }
+
+    private void catchUp(int segment, long offset) throws IOException {
+        int indexed = 0;
+        for (; segment <= activeSegment; segment++, offset = 0) {
+            File file = segmentFile(segment);
+            if (!file.exists()) continue;
+            long length = segment == activeSegment ? activeSize : file.length();
+            while (offset + 4 <= length) {
+                ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+                readFully(segment, offset, lengthBuffer);
+                int recordLength = lengthBuffer.getInt(0);
+                if (recordLength < RECORD_HEADER - 4 || offset + 4 + recordLength > length) break;
+                ByteBuffer key = ByteBuffer.allocate(16);
+                readFully(segment, offset + 4, key);
+                indexRecord(key.getLong(0), key.getLong(8), pointer(segment, offset));
+                offset += 4 + recordLength;
+                indexed++;
+            }
+            if (segment == activeSegment && offset < activeSize) {
+                logger.warning("Truncating " + (activeSize - offset) + " bytes of incomplete audit data");
+                active.truncate(offset);
+                activeSize = offset;
+            }
+            updateHeader(segment, offset);
+        }
+        if (indexed > 0) logger.info("Indexed " + indexed + " audit log records");
+    }
+
+    private void append(Action action, UUID uuid, String name, String reason, String operator, long until, long time) {
+        if (active == null) return;
+        try {
+            long msb = uuid.getMostSignificantBits();
+            long lsb = uuid.getLeastSignificantBits();
+            byte[] nameBytes = encode(name);
+            byte[] reasonBytes = encode(reason);
+            byte[] operatorBytes = encode(operator);
+            int length = RECORD_HEADER + 6 + length(nameBytes) + length(reasonBytes) + length(operatorBytes);
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            buffer.putInt(length - 4);
+            buffer.putLong(msb).putLong(lsb);
+            buffer.put((byte) action.ordinal());
+            buffer.putLong(time).putLong(until);
+            buffer.putLong(lookup(msb, lsb));
+            putString(buffer, nameBytes);
+            putString(buffer, reasonBytes);
+            putString(buffer, operatorBytes);
+            buffer.flip();
+
+            if (activeSize > 0 && activeSize + length > segmentSize) rotate();
+            long offset = activeSize;
+            while (buffer.hasRemaining()) active.write(buffer, offset + buffer.position());
+            activeSize += length;
+            indexRecord(msb, lsb, pointer(activeSegment, offset));
+            updateHeader(activeSegment, activeSize);
+        } catch (IOException e) {
+            logger.severe("Failed to append to the audit log: " + e.getMessage());
+        }
+    }
+
+    private void rotate() throws IOException {
+        active.force(true);
+        active.close();
+        activeSegment++;
+        openActive();
+    }
+
+    private void openActive() throws IOException {
+        active = FileChannel.open(segmentFile(activeSegment).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSize = active.size();
+    }
+
+    private long lookup(long msb, long lsb) {
+        int slot = slot(msb, lsb);
+        return index.getLong(slot + 16);
+    }
+
+    private void indexRecord(long msb, long lsb, long pointer) throws IOException {
+        int slot = slot(msb, lsb);
+        if (index.getLong(slot + 16) == 0) {
+            index.putLong(slot, msb);
+            index.putLong(slot + 8, lsb);
+            size++;
+            index.putInt(12, size);
+        }
+        index.putLong(slot + 16, pointer);
+        if (size * 10L > capacity * 6L) grow();
+    }
+
+    private int slot(long msb, long lsb) {
+        int mask = capacity - 1;
+        long hash = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        int i = (int) (hash ^ (hash >>> 32)) & mask;
+        while (true) {
+            int base = HEADER_SIZE + i * SLOT_SIZE;
+            if (index.getLong(base + 16) == 0 || (index.getLong(base) == msb && index.getLong(base + 8) == lsb)) {
+                return base;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    // Grows in place: the live slots are copied out, the same file is mapped at the new length and rehashed.
+    // The capacity in the header is written last, so a crash midway leaves a length mismatch and a rebuild on open.
+    private void grow() throws IOException {
+        int oldCapacity = capacity;
+        long[] live = new long[size * 3];
+        int count = 0;
+        for (int i = 0; i < oldCapacity; i++) {
+            int base = HEADER_SIZE + i * SLOT_SIZE;
+            long pointer = index.getLong(base + 16);
+            if (pointer == 0 || segmentOf(pointer) < firstSegment) continue;
+            live[count++] = index.getLong(base);
+            live[count++] = index.getLong(base + 8);
+            live[count++] = pointer;
+        }
+
+        capacity = oldCapacity * 2;
+        index = map(indexFile, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        for (int offset = HEADER_SIZE; offset < HEADER_SIZE + capacity * SLOT_SIZE; offset += 8) index.putLong(offset, 0);
+        size = count / 3;
+        for (int i = 0; i < count; i += 3) {
+            int slot = slot(live[i], live[i + 1]);
+            index.putLong(slot, live[i]);
+            index.putLong(slot + 8, live[i + 1]);
+            index.putLong(slot + 16, live[i + 2]);
+        }
+        index.putInt(12, size);
+        index.putInt(8, capacity);
+        index.force();
+    }
+
+    private void updateHeader(int segment, long offset) {
+        index.putInt(16, segment);
+        index.putLong(24, offset);
+    }
+
+    private ByteBuffer readRecord(long pointer) throws IOException {
+        int segment = segmentOf(pointer);
+        long offset = pointer & 0xFFFF_FFFFL;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        readFully(segment, offset, lengthBuffer);
+        ByteBuffer record = ByteBuffer.allocate(4 + lengthBuffer.getInt(0));
+        readFully(segment, offset, record);
+        record.flip();
+        return record;
+    }
+
+    private void readFully(int segment, long offset, ByteBuffer buffer) throws IOException {
+        if (segment == activeSegment) {
+            while (buffer.hasRemaining()) {
+                if (active.read(buffer, offset + buffer.position()) < 0) throw new IOException("Unexpected end of audit segment");
+            }
+            return;
+        }
+        MappedByteBuffer mapped = sealed.get(segment);
+        if (mapped == null) {
+            File file = segmentFile(segment);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            sealed.put(segment, mapped);
+        }
+        buffer.put(mapped.slice((int) offset, buffer.remaining()));
+    }
+
+    private static Entry decode(ByteBuffer record) {
+        record.position(4);
+        UUID uuid = new UUID(record.getLong(), record.getLong());
+        Action action = Action.values()[record.get()];
+        long time = record.getLong();
+        long until = record.getLong();
+        record.getLong();
+        String name = getString(record);
+        String reason = getString(record);
+        String operator = getString(record);
+        return new Entry(uuid, action, time, name, reason, operator, until);
+    }
+
+    private static MappedByteBuffer createIndex(File file, int capacity) throws IOException {
+        MappedByteBuffer buffer = map(file, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        buffer.putInt(0, INDEX_MAGIC);
+        buffer.putInt(4, INDEX_VERSION);
+        buffer.putInt(8, capacity);
+        return buffer;
+    }
+
+    private static MappedByteBuffer map(File file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    private File segmentFile(int segment) {
+        return new File(directory, String.format("%06d.log", segment));
+    }
+
+    private static long pointer(int segment, long offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static int segmentOf(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) return null;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) return bytes;
+        return value.substring(0, MAX_STRING_BYTES / 4).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) return null;
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
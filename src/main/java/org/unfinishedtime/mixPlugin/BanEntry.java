@@ -0,0 +1,92 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.Objects;
+import java.util.UUID;
+
+final class BanEntry {
+
+    private final UUID uuid;
+    private final String name;
+    private final String reason;
+    private final String operator;
+    private final String date;
+    private final long until;
+    private volatile Messages.Bound kickCache;
+
+    BanEntry(UUID uuid, String name, String reason, String operator, String date, long until) {
+        this.uuid = uuid;
+        this.name = name;
+        this.reason = reason;
+        this.operator = operator;
+        this.date = date;
+        this.until = until;
+    }
+
+    UUID uuid() {
+        return uuid;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String reason() {
+        return reason;
+    }
+
+    String operator() {
+        return operator;
+    }
+
+    String date() {
+        return date;
+    }
+
+    long until() {
+        return until;
+    }
+
+    boolean sameAs(BanEntry other) {
+        return other != null
+                && uuid.equals(other.uuid)
+                && until == other.until
+                && Objects.equals(name, other.name)
+                && Objects.equals(reason, other.reason)
+                && Objects.equals(operator, other.operator)
+                && Objects.equals(date, other.date);
+    }
+
+    boolean isPermanent() {
+        return until <= 0;
+    }
+
+    boolean isExpired(long now) {
+        return until > 0 && now > until;
+    }
+
+    String kickMessage(Messages messages, long now) {
+        Messages.Bound cache = kickCache;
+        if (cache == null || cache.messages() != messages) {
+            cache = new Messages.Bound(messages, messages.get(Message.BAN_KICK)
+                    .bind(reason, operator, isPermanent() ? messages.render(Message.DURATION_PERMANENT) : null));
+            kickCache = cache;
+        }
+        return cache.template().render(null, null, isPermanent() ? null : messages.timeLeft(until, now));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+final class BanExpiryScheduler {
+
+    private static final long SWEEP_INTERVAL_TICKS = 20L;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAX_LOGGED_NAMES = 10;
+
+    private final BanIndex index;
+    private final IpBanIndex ipIndex;
+    private final BanStore store;
+    private final AuditLog auditLog;
+    private final Logger logger;
+    private BukkitTask task;
+
+    BanExpiryScheduler(BanIndex index, IpBanIndex ipIndex, BanStore store, AuditLog auditLog, Logger logger) {
+        this.index = index;
+        this.ipIndex = ipIndex;
+        this.store = store;
+        this.auditLog = auditLog;
+        this.logger = logger;
+    }
+
+    void start(Plugin plugin) {
+        task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+                plugin, this::sweep, SWEEP_INTERVAL_TICKS, SWEEP_INTERVAL_TICKS);
+    }
+
+    void stop() {
+        if (task != null) task.cancel();
+        task = null;
+    }
+
+    void sweep() {
+        long now = System.currentTimeMillis();
+        sweepIpBans(now);
+        long next = index.nextExpiry();
+        if (next == 0 || next >= now) return;
+
+        List<BanEntry> expired;
+        while (!(expired = index.removeExpired(now, BATCH_SIZE)).isEmpty()) {
+            List<UUID> uuids = new ArrayList<>(expired.size());
+            StringBuilder names = new StringBuilder();
+            for (BanEntry ban : expired) {
+                uuids.add(ban.uuid());
+                if (uuids.size() <= MAX_LOGGED_NAMES) {
+                    if (names.length() > 0) names.append(", ");
+                    names.append(ban.name() != null ? ban.name() : ban.uuid().toString());
+                }
+            }
+            if (expired.size() > MAX_LOGGED_NAMES) names.append(" ...");
+            store.deleteAll(uuids);
+            if (auditLog != null) auditLog.recordAll(AuditLog.Action.EXPIRE, expired, now);
+            logger.info("Expired " + expired.size() + " bans: " + names);
+        }
+    }
+
+    private void sweepIpBans(long now) {
+        long next = ipIndex.nextExpiry();
+        if (next == 0 || next >= now) return;
+
+        List<IpBan> expired;
+        while (!(expired = ipIndex.removeExpired(now, BATCH_SIZE)).isEmpty()) {
+            List<IpRange> ranges = new ArrayList<>(expired.size());
+            for (IpBan ban : expired) {
+                ranges.add(ban.range());
+                if (auditLog != null) auditLog.recordIp(AuditLog.Action.EXPIRE, ban, "系统", now);
+            }
+            store.deleteIpBans(ranges);
+            logger.info("Expired " + expired.size() + " IP bans");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class BanIndex {
+
+    private final ConcurrentHashMap<UUID, BanEntry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, BanEntry> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<BanEntry> expiries = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(BanEntry::until).thenComparing(BanEntry::uuid));
+    private final AtomicLong version = new AtomicLong();
+
+    synchronized void load(Collection<BanEntry> bans) {
+        entries.clear();
+        names.clear();
+        expiries.clear();
+        for (BanEntry ban : bans) {
+            entries.put(ban.uuid(), ban);
+            index(ban);
+        }
+        version.incrementAndGet();
+    }
+
+    BanEntry find(UUID uuid) {
+        if (entries.isEmpty()) return null;
+        return entries.get(uuid);
+    }
+
+    BanEntry findByName(String name) {
+        if (names.isEmpty()) return null;
+        return names.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    List<String> completeNames(String prefix, int limit) {
+        if (names.isEmpty()) return Collections.emptyList();
+        String from = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (BanEntry ban : names.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            result.add(ban.name());
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    synchronized void put(BanEntry entry) {
+        BanEntry previous = entries.put(entry.uuid(), entry);
+        if (previous != null) unindex(previous);
+        index(entry);
+        version.incrementAndGet();
+    }
+
+    synchronized void putAll(Collection<BanEntry> bans) {
+        for (BanEntry entry : bans) {
+            BanEntry previous = entries.put(entry.uuid(), entry);
+            if (previous != null) unindex(previous);
+            index(entry);
+        }
+        version.incrementAndGet();
+    }
+
+    synchronized BanEntry remove(UUID uuid) {
+        BanEntry removed = entries.remove(uuid);
+        if (removed != null) {
+            unindex(removed);
+            version.incrementAndGet();
+        }
+        return removed;
+    }
+
+    synchronized boolean remove(BanEntry entry) {
+        if (!entries.remove(entry.uuid(), entry)) return false;
+        unindex(entry);
+        version.incrementAndGet();
+        return true;
+    }
+
+    synchronized List<BanEntry> removeExpired(long now, int limit) {
+        List<BanEntry> expired = new ArrayList<>();
+        while (expired.size() < limit && !expiries.isEmpty()) {
+            BanEntry first = expiries.first();
+            if (!first.isExpired(now)) break;
+            expiries.pollFirst();
+            if (entries.remove(first.uuid(), first)) {
+                unindexName(first);
+                expired.add(first);
+            }
+        }
+        if (!expired.isEmpty()) version.incrementAndGet();
+        return expired;
+    }
+
+    long nextExpiry() {
+        if (expiries.isEmpty()) return 0;
+        return expiries.first().until();
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Collection<BanEntry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    private void index(BanEntry ban) {
+        indexName(ban);
+        if (!ban.isPermanent()) expiries.add(ban);
+    }
+
+    private void unindex(BanEntry ban) {
+        unindexName(ban);
+        if (!ban.isPermanent()) expiries.remove(ban);
+    }
+
+    private void indexName(BanEntry ban) {
+        if (ban.name() != null) names.put(ban.name().toLowerCase(Locale.ROOT), ban);
+    }
+
+    private void unindexName(BanEntry ban) {
+        if (ban.name() != null) names.remove(ban.name().toLowerCase(Locale.ROOT), ban);
+    }
+}
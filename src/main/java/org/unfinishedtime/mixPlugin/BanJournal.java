@@ -0,0 +1,323 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+final class BanJournal {
+
+    record Record(boolean put, UUID uuid, BanEntry entry, IpRange range, IpBan ipBan) {}
+
+    private static final String NULL = "\\N";
+    // After compaction the journal starts with this line, giving the offset its first record had before
+    private static final String BASE_HEADER = "#base\t";
+    private static final long COMPACT_BYTES = 1L << 20;
+    private static final long STALE_READER_MILLIS = 7L * 86_400_000L;
+    private static final long PUBLISH_INTERVAL_MILLIS = 3_600_000L;
+
+    private final File file;
+    private final File offsetFile;
+    private final File readersDirectory;
+    private final Logger logger;
+    private final String serverId;
+    // Offsets are logical: they keep counting across compactions, so they are never reused for different records
+    private long offset;
+    private long base;
+    private long lastPublished;
+
+    BanJournal(File file, File offsetFile, File idFile, Logger logger) {
+        this.file = file;
+        this.offsetFile = offsetFile;
+        this.readersDirectory = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".readers");
+        this.logger = logger;
+        this.serverId = loadServerId(idFile);
+        try {
+            offset = Long.parseLong(Files.readString(offsetFile.toPath()).trim());
+        } catch (NoSuchFileException e) {
+            offset = 0;
+        } catch (IOException | NumberFormatException e) {
+            logger.warning("Failed to read " + offsetFile.getName() + ", replaying the shared ban journal: " + e.getMessage());
+            offset = 0;
+        }
+    }
+
+    private String loadServerId(File idFile) {
+        try {
+            String id = Files.readString(idFile.toPath()).trim();
+            return UUID.fromString(id).toString();
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warning("Failed to read " + idFile.getName() + ", generating a new server id: " + e.getMessage());
+        }
+        String id = UUID.randomUUID().toString();
+        try {
+            Files.writeString(idFile.toPath(), id);
+        } catch (IOException e) {
+            logger.warning("Failed to save " + idFile.getName() + ", this server's journal records may be replayed after a restart: "
+                    + e.getMessage());
+        }
+        return id;
+    }
+
+    File file() {
+        return file;
+    }
+
+    void appendPuts(Collection<BanEntry> entries) {
+        StringBuilder out = new StringBuilder(entries.size() * 128);
+        for (BanEntry ban : entries) {
+            out.append(serverId).append("\tP\t").append(ban.uuid()).append('\t');
+            appendField(out, ban.name()).append('\t');
+            appendField(out, ban.reason()).append('\t');
+            appendField(out, ban.operator()).append('\t');
+            appendField(out, ban.date()).append('\t');
+            out.append(ban.until()).append('\n');
+        }
+        append(out);
+    }
+
+    void appendDeletes(Collection<UUID> uuids) {
+        StringBuilder out = new StringBuilder(uuids.size() * 64);
+        for (UUID uuid : uuids) {
+            out.append(serverId).append("\tD\t").append(uuid).append('\n');
+        }
+        append(out);
+    }
+
+    void appendIpPut(IpBan ban) {
+        StringBuilder out = new StringBuilder(128);
+        out.append(serverId).append("\tI\t").append(ban.range()).append('\t');
+        appendField(out, ban.reason()).append('\t');
+        appendField(out, ban.operator()).append('\t');
+        appendField(out, ban.date()).append('\t');
+        out.append(ban.until()).append('\n');
+        append(out);
+    }
+
+    void appendIpDeletes(Collection<IpRange> ranges) {
+        StringBuilder out = new StringBuilder(ranges.size() * 64);
+        for (IpRange range : ranges) {
+            out.append(serverId).append("\tX\t").append(range).append('\n');
+        }
+        append(out);
+    }
+
+    synchronized List<Record> readNew() throws IOException {
+        if (!file.exists()) return List.of();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            long size = channel.size();
+            int header = readHeader(channel);
+            if (offset < base) {
+                if (offset > 0) logger.warning("Shared ban journal was compacted past this server's position, skipping ahead");
+                offset = base;
+            }
+            long position = header + offset - base;
+            if (size < position) {
+                logger.warning("Shared ban journal shrank, replaying it from the start");
+                offset = base;
+                position = header;
+            }
+            if (size == position) {
+                // Keep the position fresh while idle so compaction does not mistake this server for a stale reader
+                if (System.currentTimeMillis() - lastPublished > PUBLISH_INTERVAL_MILLIS) publishPosition();
+                return List.of();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size - position, 8L << 20));
+            channel.read(buffer, position);
+            byte[] bytes = buffer.array();
+            int length = buffer.position();
+            int end = length;
+            while (end > 0 && bytes[end - 1] != '\n') end--;
+            if (end == 0) return List.of();
+
+            List<Record> records = new ArrayList<>();
+            int lineStart = 0;
+            for (int i = 0; i < end; i++) {
+                if (bytes[i] != '\n') continue;
+                Record record = parse(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                if (record != null) records.add(record);
+                lineStart = i + 1;
+            }
+            offset += end;
+            Files.writeString(offsetFile.toPath(), Long.toString(offset));
+            publishPosition();
+            return records;
+        }
+    }
+
+    // Drops the prefix every reader that was active within STALE_READER_MILLIS has consumed
+    synchronized void compact() {
+        if (offset - base < COMPACT_BYTES || !file.exists()) return;
+        long consumed = offset;
+        File[] readers = readersDirectory.listFiles();
+        long now = System.currentTimeMillis();
+        if (readers != null) {
+            for (File reader : readers) {
+                if (now - reader.lastModified() > STALE_READER_MILLIS) continue;
+                try {
+                    consumed = Math.min(consumed, Long.parseLong(Files.readString(reader.toPath()).trim()));
+                } catch (IOException | NumberFormatException e) {
+                    return;
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            int header = readHeader(channel);
+            if (consumed - base < COMPACT_BYTES) return;
+            long from = header + consumed - base;
+            long size = channel.size();
+            if (from > size) return;
+
+            byte[] prefix = (BASE_HEADER + consumed + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer tail = ByteBuffer.allocate((int) (size - from));
+            while (tail.hasRemaining()) {
+                if (channel.read(tail, from + tail.position()) < 0) throw new IOException("Journal ended early");
+            }
+            tail.flip();
+            ByteBuffer out = ByteBuffer.allocate(prefix.length + tail.remaining()).put(prefix).put(tail);
+            out.flip();
+            while (out.hasRemaining()) channel.write(out, out.position());
+            channel.truncate(out.limit());
+            channel.force(true);
+            logger.info("Compacted the shared ban journal, dropped " + (consumed - base) + " bytes every server has read");
+            base = consumed;
+        } catch (IOException e) {
+            logger.warning("Failed to compact the shared ban journal: " + e.getMessage());
+        }
+    }
+
+    private int readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        channel.read(buffer, 0);
+        String head = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        int newline = head.indexOf('\n');
+        if (!head.startsWith(BASE_HEADER) || newline < 0) {
+            base = 0;
+            return 0;
+        }
+        try {
+            base = Long.parseLong(head.substring(BASE_HEADER.length(), newline));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed shared ban journal header");
+        }
+        return head.substring(0, newline + 1).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void publishPosition() {
+        lastPublished = System.currentTimeMillis();
+        if (!readersDirectory.exists() && !readersDirectory.mkdirs()) return;
+        try {
+            Files.writeString(new File(readersDirectory, serverId).toPath(), Long.toString(offset));
+        } catch (IOException e) {
+            logger.warning("Failed to publish shared ban journal position: " + e.getMessage());
+        }
+    }
+
+    private synchronized void append(CharSequence records) {
+        if (records.length() == 0) return;
+        ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileLock ignored = channel.lock()) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            logger.severe("Failed to append to shared ban journal: " + e.getMessage());
+        }
+    }
+
+    private Record parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 3 || fields[0].equals(serverId)) return null;
+        try {
+            switch (fields[1]) {
+                case "P" -> {
+                    if (fields.length < 8) return null;
+                    UUID uuid = UUID.fromString(fields[2]);
+                    return new Record(true, uuid, new BanEntry(uuid,
+                            readField(fields[3]), readField(fields[4]), readField(fields[5]), readField(fields[6]),
+                            Long.parseLong(fields[7])), null, null);
+                }
+                case "D" -> {
+                    return new Record(false, UUID.fromString(fields[2]), null, null, null);
+                }
+                case "I" -> {
+                    IpRange range = IpRange.parse(fields[2]);
+                    if (range == null || fields.length < 7) return null;
+                    return new Record(true, null, null, range, new IpBan(range,
+                            readField(fields[3]), readField(fields[4]), readField(fields[5]), Long.parseLong(fields[6])));
+                }
+                case "X" -> {
+                    IpRange range = IpRange.parse(fields[2]);
+                    return range != null ? new Record(false, null, null, range, null) : null;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warning("Skipping malformed shared ban journal line: " + line);
+            return null;
+        }
+    }
+
+    private static StringBuilder appendField(StringBuilder out, String value) {
+        if (value == null) return out.append(NULL);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        return out;
+    }
+
+    private static String readField(String value) {
+        if (value.equals(NULL)) return null;
+        if (value.indexOf('\\') < 0) return value;
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
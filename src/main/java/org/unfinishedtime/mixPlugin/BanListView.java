@@ -0,0 +1,101 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class BanListView {
+
+    enum Sort {
+        DATE("date", Comparator.comparing(BanEntry::date, Comparator.nullsLast(Comparator.<String>reverseOrder()))),
+        EXPIRY("expiry", Comparator.comparingLong((BanEntry ban) -> ban.isPermanent() ? Long.MAX_VALUE : ban.until())),
+        OPERATOR("operator", Comparator.comparing((BanEntry ban) -> ban.operator().toLowerCase(Locale.ROOT))
+                .thenComparing(BanEntry::date, Comparator.nullsLast(Comparator.<String>reverseOrder())));
+
+        private final String key;
+        private final Comparator<BanEntry> comparator;
+
+        Sort(String key, Comparator<BanEntry> comparator) {
+            this.key = key;
+            this.comparator = comparator;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Sort fromKey(String key) {
+            for (Sort sort : values()) {
+                if (sort.key.equalsIgnoreCase(key)) return sort;
+            }
+            return null;
+        }
+    }
+
+    private static final BanEntry[] EMPTY = new BanEntry[0];
+
+    private final BanIndex index;
+    private final Map<Sort, BanEntry[]> sorted = new EnumMap<>(Sort.class);
+    private long sortedVersion = -1;
+    private Sort filteredSort;
+    private String filteredQuery;
+    private BanEntry[] filtered = EMPTY;
+
+    BanListView(BanIndex index) {
+        this.index = index;
+    }
+
+    BanEntry[] view(Sort sort, String filter) {
+        long version = index.version();
+        if (version != sortedVersion) {
+            sorted.clear();
+            filteredSort = null;
+            sortedVersion = version;
+        }
+
+        BanEntry[] all = sorted.computeIfAbsent(sort, key -> {
+            BanEntry[] entries = index.entries().toArray(EMPTY);
+            Arrays.sort(entries, key.comparator);
+            return entries;
+        });
+        if (filter == null || filter.isEmpty()) return all;
+
+        String query = filter.toLowerCase(Locale.ROOT);
+        if (sort != filteredSort || !query.equals(filteredQuery)) {
+            List<BanEntry> matches = new ArrayList<>();
+            for (BanEntry ban : all) {
+                if (matches(ban, query)) matches.add(ban);
+            }
+            filtered = matches.toArray(EMPTY);
+            filteredSort = sort;
+            filteredQuery = query;
+        }
+        return filtered;
+    }
+
+    private static boolean matches(BanEntry ban, String query) {
+        return (ban.name() != null && ban.name().toLowerCase(Locale.ROOT).contains(query))
+                || ban.operator().toLowerCase(Locale.ROOT).contains(query)
+                || ban.reason().toLowerCase(Locale.ROOT).contains(query);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class BanSnapshot {
+
+    private static final int MAGIC = 0x4D504253;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 36;
+    private static final int NULL = -1;
+
+    record Stamp(long size, long modified) {
+
+        static Stamp of(File file) {
+            return new Stamp(file.length(), file.lastModified());
+        }
+    }
+
+    record Contents(List<BanEntry> bans, List<IpBan> ipBans) {}
+
+    private BanSnapshot() {
+    }
+
+    static Contents read(File file, Stamp expected) throws IOException {
+        if (!file.isFile()) return null;
+        // Read onto the heap rather than mapped: everything is decoded right away, and a live mapping would lock the
+        // file on Windows and make the next snapshot write fail
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a ban snapshot");
+            }
+            if (buffer.getLong() != expected.size() || buffer.getLong() != expected.modified()) return null;
+            int banCount = buffer.getInt();
+            int ipBanCount = buffer.getInt();
+            int stringCount = buffer.getInt();
+
+            int uuidOffset = HEADER_SIZE;
+            int untilOffset = uuidOffset + banCount * 16;
+            int refOffset = untilOffset + banCount * 8;
+            int ipUntilOffset = refOffset + banCount * 16;
+            int ipRefOffset = ipUntilOffset + ipBanCount * 8;
+            int stringOffset = ipRefOffset + ipBanCount * 16;
+
+            String[] strings = new String[stringCount];
+            buffer.position(stringOffset);
+            for (int i = 0; i < stringCount; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            List<BanEntry> bans = new ArrayList<>(banCount);
+            for (int i = 0; i < banCount; i++) {
+                int ref = refOffset + i * 16;
+                bans.add(new BanEntry(
+                        new UUID(buffer.getLong(uuidOffset + i * 16), buffer.getLong(uuidOffset + i * 16 + 8)),
+                        string(strings, buffer.getInt(ref)),
+                        string(strings, buffer.getInt(ref + 4)),
+                        string(strings, buffer.getInt(ref + 8)),
+                        string(strings, buffer.getInt(ref + 12)),
+                        buffer.getLong(untilOffset + i * 8)));
+            }
+
+            List<IpBan> ipBans = new ArrayList<>(ipBanCount);
+            for (int i = 0; i < ipBanCount; i++) {
+                int ref = ipRefOffset + i * 16;
+                IpRange range = IpRange.parse(string(strings, buffer.getInt(ref)));
+                if (range == null) throw new IOException("Invalid IP range in ban snapshot");
+                ipBans.add(new IpBan(range,
+                        string(strings, buffer.getInt(ref + 4)),
+                        string(strings, buffer.getInt(ref + 8)),
+                        string(strings, buffer.getInt(ref + 12)),
+                        buffer.getLong(ipUntilOffset + i * 8)));
+            }
+            return new Contents(bans, ipBans);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated ban snapshot", e);
+        }
+    }
+
+    static byte[] encode(Collection<BanEntry> bans, Collection<IpBan> ipBans, Stamp stamp) {
+        List<BanEntry> sorted = new ArrayList<>(bans);
+        sorted.sort((a, b) -> a.uuid().compareTo(b.uuid()));
+
+        Map<String, Integer> table = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] banRefs = new int[sorted.size() * 4];
+        for (int i = 0; i < sorted.size(); i++) {
+            BanEntry ban = sorted.get(i);
+            banRefs[i * 4] = intern(table, strings, ban.name());
+            banRefs[i * 4 + 1] = intern(table, strings, ban.reason());
+            banRefs[i * 4 + 2] = intern(table, strings, ban.operator());
+            banRefs[i * 4 + 3] = intern(table, strings, ban.date());
+        }
+        List<IpBan> ipList = new ArrayList<>(ipBans);
+        int[] ipRefs = new int[ipList.size() * 4];
+        for (int i = 0; i < ipList.size(); i++) {
+            IpBan ban = ipList.get(i);
+            ipRefs[i * 4] = intern(table, strings, ban.range().toString());
+            ipRefs[i * 4 + 1] = intern(table, strings, ban.reason());
+            ipRefs[i * 4 + 2] = intern(table, strings, ban.operator());
+            ipRefs[i * 4 + 3] = intern(table, strings, ban.date());
+        }
+
+        int size = HEADER_SIZE + sorted.size() * 40 + ipList.size() * 24;
+        for (byte[] bytes : strings) size += 4 + bytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(stamp.size()).putLong(stamp.modified())
+                .putInt(sorted.size()).putInt(ipList.size()).putInt(strings.size());
+        for (BanEntry ban : sorted) {
+            buffer.putLong(ban.uuid().getMostSignificantBits()).putLong(ban.uuid().getLeastSignificantBits());
+        }
+        for (BanEntry ban : sorted) buffer.putLong(ban.until());
+        for (int ref : banRefs) buffer.putInt(ref);
+        for (IpBan ban : ipList) buffer.putLong(ban.until());
+        for (int ref : ipRefs) buffer.putInt(ref);
+        for (byte[] bytes : strings) buffer.putInt(bytes.length).put(bytes);
+        return buffer.array();
+    }
+
+    private static int intern(Map<String, Integer> table, List<byte[]> strings, String value) {
+        if (value == null) return NULL;
+        return table.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref == NULL ? null : strings[ref];
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.Collection;
+import java.util.UUID;
+
+interface BanStore {
+
+    Collection<BanEntry> loadAll();
+
+    void save(BanEntry entry);
+
+    void delete(UUID uuid);
+
+    void saveAll(Collection<BanEntry> entries);
+
+    void deleteAll(Collection<UUID> uuids);
+
+    Collection<IpBan> loadIpBans();
+
+    void saveIpBan(IpBan ban);
+
+    void deleteIpBans(Collection<IpRange> ranges);
+
+    void close();
+}
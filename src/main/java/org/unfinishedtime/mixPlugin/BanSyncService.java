@@ -0,0 +1,286 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+final class BanSyncService implements Runnable {
+
+    private static final long POLL_MILLIS = 500;
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Plugin plugin;
+    private final Messages messages;
+    private final BanIndex index;
+    private final IpBanIndex ipIndex;
+    private final BanStore localStore;
+    private final YamlBanStore yamlStore;
+    private final File bansFile;
+    private final BanJournal journal;
+    private final AuditLog auditLog;
+    private final Logger logger;
+    private final Thread thread;
+    private WatchService watchService;
+    private volatile boolean running;
+
+    BanSyncService(Plugin plugin, Messages messages, BanIndex index, IpBanIndex ipIndex, BanStore localStore, YamlBanStore yamlStore,
+                   File bansFile, BanJournal journal, AuditLog auditLog) {
+        this.plugin = plugin;
+        this.messages = messages;
+        this.index = index;
+        this.ipIndex = ipIndex;
+        this.localStore = localStore;
+        this.yamlStore = yamlStore;
+        this.bansFile = bansFile;
+        this.journal = journal;
+        this.auditLog = auditLog;
+        this.logger = plugin.getLogger();
+        this.thread = new Thread(this, "MixPlugin-BanSync");
+        this.thread.setDaemon(true);
+    }
+
+    void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        if (yamlStore != null) register(bansFile.getAbsoluteFile().getParentFile().toPath());
+        if (journal != null) {
+            File directory = journal.file().getAbsoluteFile().getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                logger.warning("Failed to create shared ban directory " + directory);
+            }
+            register(directory.toPath());
+        }
+        running = true;
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warning("Failed to close ban file watcher: " + e.getMessage());
+            }
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (journal != null) applyJournal();
+        while (running) {
+            try {
+                if (waitForChange()) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    waitForChange();
+                    reloadBansFile();
+                }
+                if (journal != null) applyJournal();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.severe("Ban sync failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private boolean waitForChange() throws InterruptedException {
+        boolean bansChanged = false;
+        WatchKey key = watchService.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        while (key != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (yamlStore != null && event.context() instanceof Path path
+                        && path.toString().equals(bansFile.getName())
+                        && ((Path) key.watchable()).toAbsolutePath().equals(bansFile.getAbsoluteFile().getParentFile().toPath())) {
+                    bansChanged = true;
+                }
+            }
+            key.reset();
+            key = watchService.poll();
+        }
+        return bansChanged;
+    }
+
+    private void reloadBansFile() {
+        String content;
+        try {
+            content = Files.readString(bansFile.toPath());
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            logger.warning("Failed to read bans.yml: " + e.getMessage());
+            return;
+        }
+        if (yamlStore.isOwnWrite(content)) return;
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(content);
+        } catch (InvalidConfigurationException e) {
+            logger.warning("Ignoring invalid bans.yml edit: " + e.getMessage());
+            return;
+        }
+
+        Map<UUID, BanEntry> parsed = new HashMap<>();
+        for (BanEntry ban : YamlBanStore.parse(yaml.getConfigurationSection("bans"))) parsed.put(ban.uuid(), ban);
+
+        List<BanEntry> changed = new ArrayList<>();
+        for (BanEntry ban : parsed.values()) {
+            if (!ban.sameAs(index.find(ban.uuid()))) {
+                index.put(ban);
+                changed.add(ban);
+                kickIfOnline(ban);
+            }
+        }
+        // Only entries this plugin last wrote count as deleted: a ban still waiting in the DataWriter window is not in
+        // the file yet, and an editor that truncates before writing briefly leaves a partial file behind
+        YamlBanStore.Written written = yamlStore.lastWritten();
+        long now = System.currentTimeMillis();
+        List<UUID> removed = new ArrayList<>();
+        for (UUID uuid : written.bans()) {
+            if (parsed.containsKey(uuid)) continue;
+            BanEntry ban = index.find(uuid);
+            if (ban == null || !index.remove(ban)) continue;
+            removed.add(uuid);
+            if (auditLog != null) auditLog.record(AuditLog.Action.UNBAN, ban, bansFile.getName(), now);
+        }
+
+        Map<IpRange, IpBan> parsedIps = new HashMap<>();
+        for (IpBan ban : YamlBanStore.parseIpBans(yaml.getMapList("ip-bans"))) parsedIps.put(ban.range(), ban);
+
+        List<IpBan> changedIps = new ArrayList<>();
+        for (IpBan ban : parsedIps.values()) {
+            if (!ban.sameAs(ipIndex.find(ban.range()))) {
+                ipIndex.put(ban);
+                changedIps.add(ban);
+                kickIfOnline(ban);
+            }
+        }
+        List<IpRange> removedIps = new ArrayList<>();
+        for (IpRange range : written.ipBans()) {
+            if (parsedIps.containsKey(range)) continue;
+            IpBan ban = ipIndex.remove(range);
+            if (ban == null) continue;
+            removedIps.add(range);
+            if (auditLog != null) auditLog.recordIp(AuditLog.Action.UNBAN, ban, bansFile.getName(), now);
+        }
+        int updated = changed.size() + changedIps.size();
+        int deleted = removed.size() + removedIps.size();
+        if (updated == 0 && deleted == 0) return;
+
+        if (journal != null) {
+            journal.appendPuts(changed);
+            journal.appendDeletes(removed);
+            changedIps.forEach(journal::appendIpPut);
+            journal.appendIpDeletes(removedIps);
+        }
+        logger.info("Reloaded bans.yml: " + updated + " updated, " + deleted + " removed");
+    }
+
+    private void applyJournal() {
+        List<BanJournal.Record> records;
+        try {
+            records = journal.readNew();
+        } catch (IOException e) {
+            logger.warning("Failed to read shared ban journal: " + e.getMessage());
+            return;
+        }
+        journal.compact();
+        if (records.isEmpty()) return;
+
+        List<BanEntry> saved = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        List<IpRange> deletedIps = new ArrayList<>();
+        for (BanJournal.Record record : records) {
+            if (record.range() != null) {
+                if (!record.put()) {
+                    if (ipIndex.remove(record.range()) != null) deletedIps.add(record.range());
+                } else if (!record.ipBan().sameAs(ipIndex.find(record.range()))) {
+                    ipIndex.put(record.ipBan());
+                    localStore.saveIpBan(record.ipBan());
+                    kickIfOnline(record.ipBan());
+                }
+            } else if (record.put()) {
+                if (record.entry().sameAs(index.find(record.uuid()))) continue;
+                index.put(record.entry());
+                saved.add(record.entry());
+                kickIfOnline(record.entry());
+            } else if (index.remove(record.uuid()) != null) {
+                deleted.add(record.uuid());
+            }
+        }
+        if (!saved.isEmpty()) localStore.saveAll(saved);
+        if (!deleted.isEmpty()) localStore.deleteAll(deleted);
+        if (!deletedIps.isEmpty()) localStore.deleteIpBans(deletedIps);
+    }
+
+    private void kickIfOnline(IpBan ban) {
+        if (ban.isExpired(System.currentTimeMillis())) return;
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                InetSocketAddress address = player.getAddress();
+                if (address == null || address.getAddress() == null) continue;
+                IpRange playerRange = IpRange.of(address.getAddress());
+                if (ban.range().contains(playerRange.high(), playerRange.low())) {
+                    player.kickPlayer(ban.kickMessage(messages, System.currentTimeMillis()));
+                }
+            }
+        });
+    }
+
+    private void kickIfOnline(BanEntry ban) {
+        if (ban.isExpired(System.currentTimeMillis())) return;
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            Player player = plugin.getServer().getPlayer(ban.uuid());
+            if (player != null) player.kickPlayer(ban.kickMessage(messages, System.currentTimeMillis()));
+        });
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+final class BanTransfer {
+
+    enum Format {
+        JSON, CSV;
+
+        static Format of(File file) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".json")) return JSON;
+            if (name.endsWith(".csv")) return CSV;
+            return null;
+        }
+    }
+
+    record Result(int imported, int skipped) {}
+
+    static final int PROGRESS_INTERVAL = 50_000;
+    static final int CHUNK_SIZE = 5_000;
+
+    private static final DateTimeFormatter VANILLA_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z", Locale.ROOT);
+    private static final DateTimeFormatter LOCAL_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ROOT);
+    private static final String[] CSV_HEADER = {"uuid", "name", "reason", "operator", "date", "until"};
+
+    private BanTransfer() {
+    }
+
+    // Entries are handed to the sink in chunks of CHUNK_SIZE so that large files never sit in memory at once
+    static Result read(File file, Format format, long now, Consumer<List<BanEntry>> sink, IntConsumer progress)
+            throws IOException {
+        Batch batch = new Batch(sink, progress);
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            int skipped = format == Format.JSON ? readJson(reader, now, batch) : readCsv(reader, now, batch);
+            batch.flush();
+            return new Result(batch.count, skipped);
+        }
+    }
+
+    // Written to a temporary sibling first and moved into place, so a failed export never leaves a truncated file
+    // and an existing file is never replaced
+    static int write(File file, Format format, Collection<BanEntry> entries, IntConsumer progress) throws IOException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            int count;
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                count = format == Format.JSON ? writeJson(writer, entries, progress) : writeCsv(writer, entries, progress);
+            }
+            Files.move(temp, target);
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int readJson(Reader in, long now, Batch batch) throws IOException {
+        int skipped = 0;
+        JsonReader reader = new JsonReader(in);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String uuid = null, name = null, created = null, source = null, expires = null, reason = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (key) {
+                    case "uuid" -> uuid = reader.nextString();
+                    case "name" -> name = reader.nextString();
+                    case "created" -> created = reader.nextString();
+                    case "source" -> source = reader.nextString();
+                    case "expires" -> expires = reader.nextString();
+                    case "reason" -> reason = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            BanEntry ban = toEntry(uuid, name, reason, source, fromVanillaDate(created), parseExpires(expires));
+            if (ban == null || ban.isExpired(now)) skipped++;
+            else batch.add(ban);
+        }
+        reader.endArray();
+        return skipped;
+    }
+
+    private static int readCsv(Reader in, long now, Batch batch) throws IOException {
+        int skipped = 0;
+        List<String> fields = new ArrayList<>(CSV_HEADER.length);
+        boolean first = true;
+        while (readCsvRecord(in, fields)) {
+            if (first && !fields.isEmpty() && fields.get(0).equalsIgnoreCase(CSV_HEADER[0])) {
+                first = false;
+                continue;
+            }
+            first = false;
+            if (fields.size() == 1 && fields.get(0).isEmpty()) continue;
+
+            BanEntry ban = null;
+            if (fields.size() >= CSV_HEADER.length) {
+                try {
+                    ban = toEntry(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4),
+                            fields.get(5).isEmpty() ? 0 : Long.parseLong(fields.get(5).trim()));
+                } catch (NumberFormatException ignored) {}
+            }
+            if (ban == null || ban.isExpired(now)) skipped++;
+            else batch.add(ban);
+        }
+        return skipped;
+    }
+
+    private static int writeJson(Writer out, Collection<BanEntry> entries, IntConsumer progress) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginArray();
+        int count = 0;
+        for (BanEntry ban : entries) {
+            writer.beginObject();
+            writer.name("uuid").value(ban.uuid().toString());
+            if (ban.name() != null) writer.name("name").value(ban.name());
+            if (ban.date() != null) writer.name("created").value(toVanillaDate(ban.date()));
+            writer.name("source").value(ban.operator());
+            writer.name("expires").value(ban.isPermanent() ? "forever"
+                    : VANILLA_DATE.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(ban.until()), ZoneId.systemDefault())));
+            writer.name("reason").value(ban.reason());
+            writer.endObject();
+            if (++count % PROGRESS_INTERVAL == 0) progress.accept(count);
+        }
+        writer.endArray();
+        writer.flush();
+        return count;
+    }
+
+    private static int writeCsv(Writer out, Collection<BanEntry> entries, IntConsumer progress) throws IOException {
+        out.write(String.join(",", CSV_HEADER));
+        out.write('\n');
+        int count = 0;
+        for (BanEntry ban : entries) {
+            out.write(ban.uuid().toString());
+            out.write(',');
+            writeCsvField(out, ban.name());
+            out.write(',');
+            writeCsvField(out, ban.reason());
+            out.write(',');
+            writeCsvField(out, ban.operator());
+            out.write(',');
+            writeCsvField(out, ban.date());
+            out.write(',');
+            out.write(Long.toString(ban.until()));
+            out.write('\n');
+            if (++count % PROGRESS_INTERVAL == 0) progress.accept(count);
+        }
+        return count;
+    }
+
+    private static final class Batch {
+        private final Consumer<List<BanEntry>> sink;
+        private final IntConsumer progress;
+        private List<BanEntry> chunk = new ArrayList<>(CHUNK_SIZE);
+        private int count;
+
+        private Batch(Consumer<List<BanEntry>> sink, IntConsumer progress) {
+            this.sink = sink;
+            this.progress = progress;
+        }
+
+        private void add(BanEntry ban) {
+            chunk.add(ban);
+            if (chunk.size() == CHUNK_SIZE) flush();
+            if (++count % PROGRESS_INTERVAL == 0) progress.accept(count);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            sink.accept(chunk);
+            chunk = new ArrayList<>(CHUNK_SIZE);
+        }
+    }
+
+    private static BanEntry toEntry(String uuid, String name, String reason, String operator, String date, long until) {
+        if (uuid == null || until < 0) return null;
+        try {
+            return new BanEntry(UUID.fromString(uuid.trim()),
+                    name == null || name.isEmpty() ? null : name,
+                    reason == null || reason.isEmpty() ? "违反服务器规则" : reason,
+                    operator == null || operator.isEmpty() ? "系统" : operator,
+                    date == null || date.isEmpty() ? null : date,
+                    until);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long parseExpires(String expires) {
+        if (expires == null || expires.equalsIgnoreCase("forever")) return 0;
+        try {
+            return ZonedDateTime.parse(expires, VANILLA_DATE).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static String fromVanillaDate(String created) {
+        if (created == null) return null;
+        try {
+            return LOCAL_DATE.format(ZonedDateTime.parse(created, VANILLA_DATE).withZoneSameInstant(ZoneId.systemDefault()));
+        } catch (DateTimeParseException e) {
+            return created;
+        }
+    }
+
+    private static String toVanillaDate(String date) {
+        try {
+            return VANILLA_DATE.format(LocalDateTime.parse(date, LOCAL_DATE).atZone(ZoneId.systemDefault()));
+        } catch (DateTimeParseException e) {
+            return date;
+        }
+    }
+
+    private static boolean readCsvRecord(Reader in, List<String> fields) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = in.read();
+        if (c < 0) return false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next >= 0) in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+final class DataWriter {
+
+    private static final long COALESCE_WINDOW_MILLIS = 200;
+    private static final long SLOW_WRITE_MILLIS = 500;
+
+    private record Pending(Supplier<byte[]> snapshot, LongConsumer onWritten) {}
+
+    private final Logger logger;
+    private final Metrics.Timer writeTimer;
+    private final Map<File, Pending> dirty = new LinkedHashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final AtomicLong completedWrites = new AtomicLong();
+    private final AtomicLong coalescedMarks = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong lastWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+
+    DataWriter(Logger logger, Metrics.Timer writeTimer) {
+        this.logger = logger;
+        this.writeTimer = writeTimer;
+        this.thread = new Thread(this::run, "MixPlugin-DataWriter");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void markDirty(File file, Supplier<String> snapshot) {
+        markDirty(file, snapshot, null);
+    }
+
+    // onWritten runs on the writer thread with the number of bytes written, and only if the write succeeded
+    void markDirty(File file, Supplier<String> snapshot, LongConsumer onWritten) {
+        mark(file, new Pending(() -> snapshot.get().getBytes(StandardCharsets.UTF_8), onWritten));
+    }
+
+    void markDirtyBytes(File file, Supplier<byte[]> snapshot) {
+        mark(file, new Pending(snapshot, null));
+    }
+
+    private void mark(File file, Pending pending) {
+        synchronized (dirty) {
+            if (dirty.put(file, pending) != null) coalescedMarks.incrementAndGet();
+            dirty.notifyAll();
+        }
+        if (!running) drain();
+    }
+
+    void markDeleted(File file) {
+        markDirtyBytes(file, () -> null);
+    }
+
+    void shutdown() {
+        running = false;
+        synchronized (dirty) {
+            dirty.notifyAll();
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    int queueDepth() {
+        synchronized (dirty) {
+            return dirty.size();
+        }
+    }
+
+    long completedWrites() {
+        return completedWrites.get();
+    }
+
+    long coalescedMarks() {
+        return coalescedMarks.get();
+    }
+
+    long failedWrites() {
+        return failedWrites.get();
+    }
+
+    double lastWriteMillis() {
+        return lastWriteNanos.get() / 1_000_000.0;
+    }
+
+    double maxWriteMillis() {
+        return maxWriteNanos.get() / 1_000_000.0;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                synchronized (dirty) {
+                    while (running && dirty.isEmpty()) dirty.wait();
+                }
+                if (!running) break;
+                Thread.sleep(COALESCE_WINDOW_MILLIS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            drain();
+        }
+    }
+
+    private synchronized void drain() {
+        List<Map.Entry<File, Pending>> batch;
+        synchronized (dirty) {
+            if (dirty.isEmpty()) return;
+            batch = new ArrayList<>(dirty.entrySet());
+            dirty.clear();
+        }
+        for (Map.Entry<File, Pending> entry : batch) {
+            long start = System.nanoTime();
+            byte[] data;
+            try {
+                data = entry.getValue().snapshot().get();
+                if (data != null) write(entry.getKey().toPath(), data);
+                else Files.deleteIfExists(entry.getKey().toPath());
+                completedWrites.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                failedWrites.incrementAndGet();
+                logger.severe("Failed to save " + entry.getKey().getName() + ": " + e.getMessage());
+                continue;
+            }
+            long elapsed = System.nanoTime() - start;
+            writeTimer.record(elapsed);
+            lastWriteNanos.set(elapsed);
+            maxWriteNanos.accumulateAndGet(elapsed, Math::max);
+            if (elapsed > TimeUnit.MILLISECONDS.toNanos(SLOW_WRITE_MILLIS)) {
+                logger.warning("Saving " + entry.getKey().getName() + " took " + (elapsed / 1_000_000) + "ms");
+            }
+            if (data != null && entry.getValue().onWritten() != null) entry.getValue().onWritten().accept(data.length);
+        }
+    }
+
+    private static void write(Path target, byte[] data) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+final class DeathHistory {
+
+    private static final int MAGIC = 0x4D504448;
+    private static final int VERSION = 1;
+
+    private static final class Ring {
+        private final long[] worldMost;
+        private final long[] worldLeast;
+        private final double[] x;
+        private final double[] y;
+        private final double[] z;
+        private final float[] yaw;
+        private final float[] pitch;
+        private final long[] time;
+        private int head;
+        private int count;
+
+        private Ring(int capacity) {
+            worldMost = new long[capacity];
+            worldLeast = new long[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            yaw = new float[capacity];
+            pitch = new float[capacity];
+            time = new long[capacity];
+        }
+
+        private void add(long most, long least, double px, double py, double pz, float pyaw, float ppitch, long ptime) {
+            worldMost[head] = most;
+            worldLeast[head] = least;
+            x[head] = px;
+            y[head] = py;
+            z[head] = pz;
+            yaw[head] = pyaw;
+            pitch[head] = ppitch;
+            time[head] = ptime;
+            head = (head + 1) % time.length;
+            if (count < time.length) count++;
+        }
+
+        private int slot(int n) {
+            return Math.floorMod(head - n, time.length);
+        }
+
+        private void remove(int n) {
+            for (int i = n; i > 1; i--) copy(slot(i - 1), slot(i));
+            head = slot(1);
+            count--;
+        }
+
+        private void copy(int from, int to) {
+            worldMost[to] = worldMost[from];
+            worldLeast[to] = worldLeast[from];
+            x[to] = x[from];
+            y[to] = y[from];
+            z[to] = z[from];
+            yaw[to] = yaw[from];
+            pitch[to] = pitch[from];
+            time[to] = time[from];
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<UUID, Ring> histories;
+    private boolean dirty;
+
+    DeathHistory(int capacity, int maxPlayers) {
+        this.capacity = Math.max(1, capacity);
+        int playerLimit = Math.max(1, maxPlayers);
+        this.histories = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Ring> eldest) {
+                return size() > playerLimit;
+            }
+        };
+    }
+
+    void record(UUID playerId, Location location, long time) {
+        World world = location.getWorld();
+        if (world == null) return;
+        UUID worldId = world.getUID();
+        histories.computeIfAbsent(playerId, key -> new Ring(capacity)).add(
+                worldId.getMostSignificantBits(), worldId.getLeastSignificantBits(),
+                location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch(), time);
+        dirty = true;
+    }
+
+    int count(UUID playerId) {
+        Ring ring = histories.get(playerId);
+        return ring != null ? ring.count : 0;
+    }
+
+    Location location(UUID playerId, int n) {
+        Ring ring = histories.get(playerId);
+        if (ring == null || n < 1 || n > ring.count) return null;
+        int slot = ring.slot(n);
+        World world = Bukkit.getWorld(new UUID(ring.worldMost[slot], ring.worldLeast[slot]));
+        if (world == null) return null;
+        return new Location(world, ring.x[slot], ring.y[slot], ring.z[slot], ring.yaw[slot], ring.pitch[slot]);
+    }
+
+    long time(UUID playerId, int n) {
+        Ring ring = histories.get(playerId);
+        if (ring == null || n < 1 || n > ring.count) return 0;
+        return ring.time[ring.slot(n)];
+    }
+
+    void remove(UUID playerId, int n) {
+        Ring ring = histories.get(playerId);
+        if (ring == null || n < 1 || n > ring.count) return;
+        ring.remove(n);
+        if (ring.count == 0) histories.remove(playerId);
+        dirty = true;
+    }
+
+    void removeRecordedAt(UUID playerId, long time) {
+        Ring ring = histories.get(playerId);
+        if (ring == null) return;
+        for (int n = 1; n <= ring.count; n++) {
+            if (ring.time[ring.slot(n)] == time) {
+                remove(playerId, n);
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return histories.size();
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + histories.size() * (24 + capacity * 60));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(histories.size());
+            for (Map.Entry<UUID, Ring> entry : histories.entrySet()) {
+                Ring ring = entry.getValue();
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeInt(ring.count);
+                for (int n = ring.count; n >= 1; n--) {
+                    int slot = ring.slot(n);
+                    out.writeLong(ring.worldMost[slot]);
+                    out.writeLong(ring.worldLeast[slot]);
+                    out.writeDouble(ring.x[slot]);
+                    out.writeDouble(ring.y[slot]);
+                    out.writeDouble(ring.z[slot]);
+                    out.writeFloat(ring.yaw[slot]);
+                    out.writeFloat(ring.pitch[slot]);
+                    out.writeLong(ring.time[slot]);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        dirty = false;
+        return bytes.toByteArray();
+    }
+
+    void load(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) throw new IOException("Not a death history snapshot");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported death history version " + version);
+
+        histories.clear();
+        int players = in.readInt();
+        for (int i = 0; i < players; i++) {
+            UUID playerId = new UUID(in.readLong(), in.readLong());
+            int count = in.readInt();
+            Ring ring = new Ring(capacity);
+            for (int n = 0; n < count; n++) {
+                ring.add(in.readLong(), in.readLong(),
+                        in.readDouble(), in.readDouble(), in.readDouble(),
+                        in.readFloat(), in.readFloat(), in.readLong());
+            }
+            if (ring.count > 0) histories.put(playerId, ring);
+        }
+        dirty = false;
+    }
+}
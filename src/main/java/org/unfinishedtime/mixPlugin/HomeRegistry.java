@@ -0,0 +1,118 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+final class HomeRegistry {
+
+    enum Result { SET, REPLACED, LIMIT }
+
+    private final File directory;
+    private final DataWriter writer;
+    private final Map<UUID, Map<String, SpawnRegistry.SpawnPoint>> homes = new ConcurrentHashMap<>();
+
+    HomeRegistry(File directory, DataWriter writer, Logger logger) {
+        this.directory = directory;
+        this.writer = writer;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warning("Failed to create " + directory.getName() + " directory");
+        }
+    }
+
+    void load(UUID uuid) {
+        if (homes.containsKey(uuid)) return;
+        Map<String, SpawnRegistry.SpawnPoint> loaded = new LinkedHashMap<>();
+        File file = file(uuid);
+        if (file.exists()) {
+            ConfigurationSection section = YamlConfiguration.loadConfiguration(file).getConfigurationSection("homes");
+            if (section != null) {
+                for (String name : section.getKeys(false)) {
+                    SpawnRegistry.SpawnPoint point = SpawnRegistry.SpawnPoint.parse(section.get(name));
+                    if (point != null) loaded.put(name.toLowerCase(Locale.ROOT), point);
+                }
+            }
+        }
+        homes.putIfAbsent(uuid, loaded);
+    }
+
+    void unload(UUID uuid) {
+        homes.remove(uuid);
+    }
+
+    boolean isLoaded(UUID uuid) {
+        return homes.containsKey(uuid);
+    }
+
+    int loadedPlayers() {
+        return homes.size();
+    }
+
+    Map<String, SpawnRegistry.SpawnPoint> homes(UUID uuid) {
+        Map<String, SpawnRegistry.SpawnPoint> playerHomes = homes.get(uuid);
+        return playerHomes != null ? Collections.unmodifiableMap(playerHomes) : Map.of();
+    }
+
+    SpawnRegistry.SpawnPoint get(UUID uuid, String name) {
+        Map<String, SpawnRegistry.SpawnPoint> playerHomes = homes.get(uuid);
+        return playerHomes != null ? playerHomes.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    Result set(UUID uuid, String name, SpawnRegistry.SpawnPoint point, int max) {
+        load(uuid);
+        Map<String, SpawnRegistry.SpawnPoint> playerHomes = homes.get(uuid);
+        String key = name.toLowerCase(Locale.ROOT);
+        boolean replacing = playerHomes.containsKey(key);
+        if (!replacing && playerHomes.size() >= max) return Result.LIMIT;
+        playerHomes.put(key, point);
+        save(uuid, playerHomes);
+        return replacing ? Result.REPLACED : Result.SET;
+    }
+
+    boolean remove(UUID uuid, String name) {
+        Map<String, SpawnRegistry.SpawnPoint> playerHomes = homes.get(uuid);
+        if (playerHomes == null || playerHomes.remove(name.toLowerCase(Locale.ROOT)) == null) return false;
+        save(uuid, playerHomes);
+        return true;
+    }
+
+    private void save(UUID uuid, Map<String, SpawnRegistry.SpawnPoint> playerHomes) {
+        if (playerHomes.isEmpty()) {
+            writer.markDeleted(file(uuid));
+            return;
+        }
+        YamlConfiguration yaml = new YamlConfiguration();
+        ConfigurationSection section = yaml.createSection("homes");
+        playerHomes.forEach((name, point) -> section.set(name, point.serialize()));
+        String data = yaml.saveToString();
+        writer.markDirty(file(uuid), () -> data);
+    }
+
+    private File file(UUID uuid) {
+        return new File(directory, uuid + ".yml");
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+final class IpBanIndex {
+
+    private static final class Node {
+        final long high;
+        final long low;
+        final int prefix;
+        volatile IpBan ban;
+        volatile Node zero;
+        volatile Node one;
+
+        Node(long high, long low, int prefix, IpBan ban) {
+            this.high = high;
+            this.low = low;
+            this.prefix = prefix;
+            this.ban = ban;
+        }
+
+        boolean covers(long otherHigh, long otherLow) {
+            return IpRange.maskHigh(otherHigh, prefix) == high && IpRange.maskLow(otherLow, prefix) == low;
+        }
+
+        Node child(int bit) {
+            return bit == 0 ? zero : one;
+        }
+
+        void setChild(int bit, Node child) {
+            if (bit == 0) zero = child;
+            else one = child;
+        }
+    }
+
+    private final Node root = new Node(0, 0, 0, null);
+    private final ConcurrentHashMap<IpRange, IpBan> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<IpBan> expiries = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(IpBan::until)
+                    .thenComparingLong(ban -> ban.range().high())
+                    .thenComparingLong(ban -> ban.range().low())
+                    .thenComparingInt(ban -> ban.range().prefix()));
+
+    synchronized void load(Collection<IpBan> bans) {
+        for (IpBan ban : List.copyOf(entries.values())) remove(ban.range());
+        for (IpBan ban : bans) put(ban);
+    }
+
+    IpBan match(IpRange address, long now) {
+        if (entries.isEmpty()) return null;
+        long high = address.high();
+        long low = address.low();
+        IpBan match = null;
+        Node node = root;
+        while (node != null && node.covers(high, low)) {
+            IpBan ban = node.ban;
+            if (ban != null && !ban.isExpired(now)) match = ban;
+            if (node.prefix == 128) break;
+            node = node.child(IpRange.bit(high, low, node.prefix));
+        }
+        return match;
+    }
+
+    IpBan find(IpRange range) {
+        return entries.get(range);
+    }
+
+    synchronized void put(IpBan ban) {
+        IpBan previous = entries.put(ban.range(), ban);
+        if (previous != null && !previous.isPermanent()) expiries.remove(previous);
+        if (!ban.isPermanent()) expiries.add(ban);
+        insert(ban);
+    }
+
+    synchronized IpBan remove(IpRange range) {
+        IpBan removed = entries.remove(range);
+        if (removed == null) return null;
+        if (!removed.isPermanent()) expiries.remove(removed);
+        delete(range);
+        return removed;
+    }
+
+    synchronized List<IpBan> removeExpired(long now, int limit) {
+        List<IpBan> expired = new ArrayList<>();
+        while (expired.size() < limit && !expiries.isEmpty()) {
+            IpBan first = expiries.first();
+            if (!first.isExpired(now)) break;
+            expiries.pollFirst();
+            if (entries.remove(first.range(), first)) {
+                delete(first.range());
+                expired.add(first);
+            }
+        }
+        return expired;
+    }
+
+    long nextExpiry() {
+        if (expiries.isEmpty()) return 0;
+        return expiries.first().until();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Collection<IpBan> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    private void insert(IpBan ban) {
+        IpRange range = ban.range();
+        Node parent = root;
+        while (parent.prefix < range.prefix()) {
+            int bit = range.bit(parent.prefix);
+            Node child = parent.child(bit);
+            if (child == null) {
+                parent.setChild(bit, new Node(range.high(), range.low(), range.prefix(), ban));
+                return;
+            }
+            if (child.prefix <= range.prefix() && child.covers(range.high(), range.low())) {
+                parent = child;
+                continue;
+            }
+
+            int common = commonPrefix(child, range);
+            if (common == range.prefix()) {
+                Node node = new Node(range.high(), range.low(), range.prefix(), ban);
+                node.setChild(IpRange.bit(child.high, child.low, common), child);
+                parent.setChild(bit, node);
+            } else {
+                Node split = new Node(IpRange.maskHigh(range.high(), common), IpRange.maskLow(range.low(), common), common, null);
+                split.setChild(IpRange.bit(child.high, child.low, common), child);
+                split.setChild(range.bit(common), new Node(range.high(), range.low(), range.prefix(), ban));
+                parent.setChild(bit, split);
+            }
+            return;
+        }
+        parent.ban = ban;
+    }
+
+    private void delete(IpRange range) {
+        Node grandparent = null;
+        Node parent = null;
+        Node node = root;
+        while (node != null && node.prefix < range.prefix() && node.covers(range.high(), range.low())) {
+            grandparent = parent;
+            parent = node;
+            node = node.child(range.bit(node.prefix));
+        }
+        if (node == null || node.prefix != range.prefix() || !node.covers(range.high(), range.low())) return;
+
+        node.ban = null;
+        if (node == root) return;
+        if (node.zero == null || node.one == null) {
+            Node only = node.zero != null ? node.zero : node.one;
+            parent.setChild(range.bit(parent.prefix), only);
+            if (only == null && parent != root && parent.ban == null && grandparent != null) {
+                Node sibling = parent.zero != null ? parent.zero : parent.one;
+                grandparent.setChild(range.bit(grandparent.prefix), sibling);
+            }
+        }
+    }
+
+    private static int commonPrefix(Node node, IpRange range) {
+        int limit = Math.min(node.prefix, range.prefix());
+        long high = node.high ^ range.high();
+        if (high != 0) return Math.min(Long.numberOfLeadingZeros(high), limit);
+        long low = node.low ^ range.low();
+        return Math.min(low != 0 ? 64 + Long.numberOfLeadingZeros(low) : 128, limit);
+    }
+}
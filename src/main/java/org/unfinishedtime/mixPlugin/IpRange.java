@@ -0,0 +1,175 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.UUID;
+
+record IpRange(long high, long low, int prefix) {
+
+    private static final long IPV4_MAPPED = 0xFFFF_0000_0000L;
+
+    static IpRange of(InetAddress address) {
+        if (address instanceof Inet4Address) {
+            // Inet4Address#hashCode is the address itself, which avoids cloning the byte array on every login.
+            return new IpRange(0, IPV4_MAPPED | (address.hashCode() & 0xFFFF_FFFFL), 128);
+        }
+        byte[] bytes = address.getAddress();
+        return new IpRange(readLong(bytes, 0), readLong(bytes, 8), 128);
+    }
+
+    static IpRange parse(String text) {
+        int slash = text.indexOf('/');
+        String host = slash < 0 ? text : text.substring(0, slash);
+        // Parsed by hand so that nothing which is not an address literal ever reaches a DNS lookup
+        long ipv4 = parseIpv4(host);
+        IpRange range;
+        if (ipv4 >= 0) {
+            range = new IpRange(0, IPV4_MAPPED | ipv4, 128);
+        } else {
+            long[] ipv6 = host.indexOf(':') >= 0 ? parseIpv6(host) : null;
+            if (ipv6 == null) return null;
+            range = new IpRange(ipv6[0], ipv6[1], 128);
+        }
+        if (slash < 0) return range;
+
+        int prefix;
+        try {
+            prefix = Integer.parseInt(text.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (ipv4 >= 0) prefix += 96;
+        if (prefix < (ipv4 >= 0 ? 96 : 0) || prefix > 128) return null;
+        return new IpRange(maskHigh(range.high, prefix), maskLow(range.low, prefix), prefix);
+    }
+
+    UUID auditKey() {
+        return new UUID(high, low);
+    }
+
+    boolean contains(long otherHigh, long otherLow) {
+        return maskHigh(otherHigh, prefix) == high && maskLow(otherLow, prefix) == low;
+    }
+
+    int bit(int index) {
+        return bit(high, low, index);
+    }
+
+    boolean isIpv4() {
+        return high == 0 && (low & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED && prefix >= 96;
+    }
+
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            String host = ((low >>> 24) & 0xFF) + "." + ((low >>> 16) & 0xFF) + "." + ((low >>> 8) & 0xFF) + "." + (low & 0xFF);
+            return prefix == 128 ? host : host + "/" + (prefix - 96);
+        }
+        StringBuilder host = new StringBuilder(40);
+        for (int i = 0; i < 8; i++) {
+            if (i > 0) host.append(':');
+            long word = i < 4 ? high >>> (48 - i * 16) : low >>> (48 - (i - 4) * 16);
+            host.append(Long.toHexString(word & 0xFFFF));
+        }
+        return prefix == 128 ? host.toString() : host + "/" + prefix;
+    }
+
+    static int bit(long high, long low, int index) {
+        return (int) (index < 64 ? high >>> (63 - index) : low >>> (127 - index)) & 1;
+    }
+
+    static long maskHigh(long high, int prefix) {
+        if (prefix >= 64) return high;
+        return prefix == 0 ? 0 : high & (-1L << (64 - prefix));
+    }
+
+    static long maskLow(long low, int prefix) {
+        if (prefix <= 64) return 0;
+        return prefix == 128 ? low : low & (-1L << (128 - prefix));
+    }
+
+    private static long parseIpv4(String text) {
+        long value = 0;
+        int octets = 0, start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && text.charAt(i) != '.') {
+                if (text.charAt(i) < '0' || text.charAt(i) > '9' || i - start >= 3) return -1;
+                continue;
+            }
+            if (i == start || ++octets > 4) return -1;
+            int octet = Integer.parseInt(text, start, i, 10);
+            if (octet > 255) return -1;
+            value = (value << 8) | octet;
+            start = i + 1;
+        }
+        return octets == 4 ? value : -1;
+    }
+
+    private static long[] parseIpv6(String text) {
+        int gap = text.indexOf("::");
+        if (gap >= 0 && text.indexOf("::", gap + 1) >= 0) return null;
+        String head = gap >= 0 ? text.substring(0, gap) : text;
+        String tail = gap >= 0 ? text.substring(gap + 2) : "";
+
+        int[] words = new int[8];
+        int headCount = parseWords(head, words, 8, gap < 0);
+        if (headCount < 0) return null;
+        int[] tailWords = new int[8];
+        int tailCount = parseWords(tail, tailWords, 8 - headCount, true);
+        if (tailCount < 0) return null;
+        if (gap < 0 ? headCount != 8 : headCount + tailCount > 7) return null;
+        System.arraycopy(tailWords, 0, words, 8 - tailCount, tailCount);
+
+        long high = 0, low = 0;
+        for (int i = 0; i < 4; i++) high = (high << 16) | words[i];
+        for (int i = 4; i < 8; i++) low = (low << 16) | words[i];
+        return new long[] {high, low};
+    }
+
+    private static int parseWords(String text, int[] words, int max, boolean dottedTail) {
+        if (text.isEmpty()) return 0;
+        String[] parts = text.split(":", -1);
+        int count = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (dottedTail && i == parts.length - 1 && part.indexOf('.') >= 0) {
+                long ipv4 = parseIpv4(part);
+                if (ipv4 < 0 || count + 2 > max) return -1;
+                words[count++] = (int) (ipv4 >>> 16);
+                words[count++] = (int) (ipv4 & 0xFFFF);
+                continue;
+            }
+            if (part.isEmpty() || part.length() > 4 || count + 1 > max) return -1;
+            int word = 0;
+            for (int j = 0; j < part.length(); j++) {
+                int digit = Character.digit(part.charAt(j), 16);
+                if (digit < 0) return -1;
+                word = (word << 4) | digit;
+            }
+            words[count++] = word;
+        }
+        return count;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) value = (value << 8) | (bytes[offset + i] & 0xFF);
+        return value;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class LocationGrid<T> {
+
+    private static final int CELL_SHIFT = 6;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final int LINEAR_SCAN_LIMIT = 64;
+
+    private record Entry<T>(T value, double x, double z) {}
+
+    private static final class WorldGrid<T> {
+        private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+        private int size;
+        private int minX = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE;
+        private int minZ = Integer.MAX_VALUE;
+        private int maxZ = Integer.MIN_VALUE;
+    }
+
+    private final Map<String, WorldGrid<T>> worlds = new HashMap<>();
+
+    void put(String world, double x, double z, T value) {
+        WorldGrid<T> grid = worlds.computeIfAbsent(world, w -> new WorldGrid<>());
+        Entry<T> entry = new Entry<>(value, x, z);
+        int cx = cell(x);
+        int cz = cell(z);
+        grid.cells.computeIfAbsent(key(cx, cz), k -> new ArrayList<>(2)).add(entry);
+        grid.size++;
+        grid.minX = Math.min(grid.minX, cx);
+        grid.maxX = Math.max(grid.maxX, cx);
+        grid.minZ = Math.min(grid.minZ, cz);
+        grid.maxZ = Math.max(grid.maxZ, cz);
+    }
+
+    boolean remove(String world, double x, double z, T value) {
+        WorldGrid<T> grid = worlds.get(world);
+        if (grid == null) return false;
+        long key = key(cell(x), cell(z));
+        List<Entry<T>> cell = grid.cells.get(key);
+        if (cell == null || !cell.removeIf(entry -> entry.value.equals(value))) return false;
+        if (cell.isEmpty()) grid.cells.remove(key);
+        if (--grid.size == 0) worlds.remove(world);
+        return true;
+    }
+
+    void clear() {
+        worlds.clear();
+    }
+
+    T nearest(String world, double x, double z) {
+        WorldGrid<T> grid = worlds.get(world);
+        if (grid == null) return null;
+        if (grid.size <= LINEAR_SCAN_LIMIT) return nearestOf(grid, x, z);
+
+        int cx = cell(x);
+        int cz = cell(z);
+        int maxRing = Math.max(Math.max(cx - grid.minX, grid.maxX - cx), Math.max(cz - grid.minZ, grid.maxZ - cz));
+        Entry<T> best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            long side = 2L * ring + 1;
+            if (side * side > 4L * grid.cells.size()) return nearestOf(grid, x, z);
+            for (int dx = -ring; dx <= ring; dx++) {
+                boolean edge = dx == -ring || dx == ring;
+                for (int dz = -ring; dz <= ring; dz += edge ? 1 : 2 * ring) {
+                    List<Entry<T>> cell = grid.cells.get(key(cx + dx, cz + dz));
+                    if (cell == null) continue;
+                    for (Entry<T> entry : cell) {
+                        double distance = distanceSquared(entry, x, z);
+                        if (distance < bestDistance) {
+                            bestDistance = distance;
+                            best = entry;
+                        }
+                    }
+                }
+            }
+            double covered = (double) ring * CELL_SIZE;
+            if (best != null && bestDistance <= covered * covered) break;
+        }
+        return best != null ? best.value : null;
+    }
+
+    List<T> within(String world, double x, double z, double radius, int limit) {
+        WorldGrid<T> grid = worlds.get(world);
+        if (grid == null) return new ArrayList<>();
+
+        double radiusSquared = radius * radius;
+        List<Entry<T>> matches = new ArrayList<>();
+        int fromX = Math.max(grid.minX, cell(x - radius));
+        int toX = Math.min(grid.maxX, cell(x + radius));
+        int fromZ = Math.max(grid.minZ, cell(z - radius));
+        int toZ = Math.min(grid.maxZ, cell(z + radius));
+        if ((long) (toX - fromX + 1) * (toZ - fromZ + 1) > grid.cells.size()) {
+            for (List<Entry<T>> cell : grid.cells.values()) {
+                for (Entry<T> entry : cell) {
+                    if (distanceSquared(entry, x, z) <= radiusSquared) matches.add(entry);
+                }
+            }
+        } else {
+            for (int cx = fromX; cx <= toX; cx++) {
+                for (int cz = fromZ; cz <= toZ; cz++) {
+                    List<Entry<T>> cell = grid.cells.get(key(cx, cz));
+                    if (cell == null) continue;
+                    for (Entry<T> entry : cell) {
+                        if (distanceSquared(entry, x, z) <= radiusSquared) matches.add(entry);
+                    }
+                }
+            }
+        }
+
+        matches.sort((a, b) -> Double.compare(distanceSquared(a, x, z), distanceSquared(b, x, z)));
+        List<T> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (Entry<T> entry : matches) {
+            result.add(entry.value);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    private static <T> T nearestOf(WorldGrid<T> grid, double x, double z) {
+        Entry<T> best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (List<Entry<T>> cell : grid.cells.values()) {
+            for (Entry<T> entry : cell) {
+                double distance = distanceSquared(entry, x, z);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = entry;
+                }
+            }
+        }
+        return best != null ? best.value : null;
+    }
+
+    private static double distanceSquared(Entry<?> entry, double x, double z) {
+        double dx = entry.x - x;
+        double dz = entry.z - z;
+        return dx * dx + dz * dz;
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+enum Message {
+    PREFIX("prefix"),
+    NO_PERMISSION("no-permission"),
+    NO_COMMAND_PERMISSION("no-command-permission"),
+    UNKNOWN_COMMAND("unknown-command"),
+    PLAYERS_ONLY("players-only"),
+    HELP("help"),
+    REASON_HINT("reason-hint"),
+    DURATION_PERMANENT("duration.permanent"),
+    DURATION_DAYS("duration.days", "days"),
+    DURATION_TIME_LEFT("duration.time-left", "days", "hours"),
+    TELEPORT_LOADING("teleport.loading"),
+
+    DEATH_RECORDED("back.recorded"),
+    BACK_USAGE("back.usage"),
+    BACK_NONE("back.none"),
+    BACK_TOO_FEW("back.too-few", "count"),
+    BACK_WORLD_MISSING("back.world-missing"),
+    BACK_TELEPORTED("back.teleported"),
+
+    TPA_USAGE("tpa.usage"),
+    TPA_PLAYER_OFFLINE("tpa.player-offline", "player"),
+    TPA_SELF("tpa.self"),
+    TPA_TOO_MANY("tpa.too-many"),
+    TPA_SENT("tpa.sent", "player"),
+    TPA_RECEIVED("tpa.received", "player"),
+    TPA_EXPIRED("tpa.expired"),
+    TPA_REQUESTER_OFFLINE("tpa.requester-offline"),
+    TPA_ACCEPTED("tpa.accepted", "player"),
+    TPA_ACCEPT_CONFIRM("tpa.accept-confirm", "player"),
+    TPA_DENIED("tpa.denied", "player"),
+    TPA_DENY_CONFIRM("tpa.deny-confirm"),
+    TPA_NONE_FROM("tpa.none-from", "player"),
+    TPA_NONE("tpa.none"),
+    TPA_REQUEST_EXPIRED("tpa.request-expired", "player"),
+    TPA_OTHER_PARTY("tpa.other-party"),
+
+    BAN_USAGE("ban.usage"),
+    BAN_PLAYER_UNKNOWN("ban.player-unknown", "player"),
+    BAN_INVALID_DAYS("ban.invalid-days"),
+    BAN_MISSING_REASON("ban.missing-reason"),
+    BAN_KICK("ban.kick", "reason", "operator", "time"),
+    BAN_BROADCAST("ban.broadcast", "player", "reason", "duration", "operator"),
+    BANIP_USAGE("banip.usage"),
+    BANIP_INVALID_TARGET("banip.invalid-target"),
+    BANIP_KICK("banip.kick", "reason", "operator", "time"),
+    BANIP_BROADCAST("banip.broadcast", "range", "reason", "duration", "operator"),
+    BANIP_KICKED("banip.kicked", "count"),
+    BANWAVE_USAGE("banwave.usage"),
+    BANWAVE_INVALID("banwave.invalid", "count", "targets"),
+    BANWAVE_READ_FAILED("banwave.read-failed", "error"),
+    BANWAVE_DONE("banwave.done", "count", "online"),
+    BANWAVE_BROADCAST("banwave.broadcast", "count", "reason", "duration", "operator"),
+    UNBAN_USAGE("unban.usage"),
+    UNBAN_NOT_FOUND("unban.not-found"),
+    UNBAN_DONE("unban.done", "player"),
+    UNBAN_IP_NOT_FOUND("unban.ip-not-found"),
+    UNBAN_IP_DONE("unban.ip-done", "range"),
+
+    BANS_EMPTY("bans.empty"),
+    BANS_NO_MATCH("bans.no-match", "filter"),
+    BANS_HEADER("bans.header"),
+    BANS_ENTRY("bans.entry", "player", "uuid", "reason", "operator", "date", "status"),
+    BANS_UNKNOWN_PLAYER("bans.unknown-player"),
+    BANS_STATUS_TEMPORARY("bans.status-temporary", "time"),
+    BANS_STATUS_PERMANENT("bans.status-permanent"),
+    BANS_SEPARATOR("bans.separator"),
+    BANS_FOOTER("bans.footer", "page", "pages", "total", "sort"),
+    BANS_NEXT_PAGE("bans.next-page", "command"),
+
+    TRANSFER_USAGE("transfer.usage", "action"),
+    TRANSFER_OUTSIDE("transfer.outside-server"),
+    TRANSFER_INVALID_PATH("transfer.invalid-path"),
+    TRANSFER_UNSUPPORTED("transfer.unsupported"),
+    TRANSFER_MISSING("transfer.missing", "file"),
+    TRANSFER_EXISTS("transfer.exists", "file"),
+    TRANSFER_BUSY("transfer.busy"),
+    IMPORT_STARTED("transfer.import-started", "file"),
+    IMPORT_PROGRESS("transfer.import-progress", "count"),
+    IMPORT_DONE("transfer.import-done", "count", "skipped", "millis"),
+    IMPORT_FAILED("transfer.import-failed", "error"),
+    EXPORT_STARTED("transfer.export-started", "file"),
+    EXPORT_PROGRESS("transfer.export-progress", "count"),
+    EXPORT_DONE("transfer.export-done", "count", "file", "millis"),
+    EXPORT_FAILED("transfer.export-failed", "error"),
+
+    HISTORY_USAGE("history.usage"),
+    HISTORY_DISABLED("history.disabled"),
+    HISTORY_NOT_FOUND("history.not-found"),
+    HISTORY_EMPTY("history.empty", "player"),
+    HISTORY_HEADER("history.header"),
+    HISTORY_SUMMARY("history.summary", "player", "total"),
+    HISTORY_BAN("history.ban", "time", "duration", "reason", "operator"),
+    HISTORY_UNTIL("history.until", "date"),
+    HISTORY_UNBAN("history.unban", "time", "reason", "operator"),
+    HISTORY_EXPIRE("history.expire", "time", "reason"),
+    HISTORY_TRUNCATED("history.truncated", "count"),
+
+    STATS_HEADER("stats.header"),
+    STATS_TIMER("stats.timer", "name", "count", "average", "p99", "max"),
+    STATS_VALUE("stats.value", "name", "value"),
+    STATS_WRITER("stats.writer", "completed", "coalesced", "failed", "last", "max"),
+    STATS_TELEPORT("stats.teleport", "completed", "dropped", "chunks", "wait", "queue"),
+
+    WARP_USAGE("warp.usage"),
+    WARP_NONE("warp.none"),
+    WARP_LIST("warp.list", "count", "warps"),
+    WARP_NOT_FOUND("warp.not-found", "name"),
+    WARP_NONE_IN_WORLD("warp.none-in-world"),
+    WARP_NONE_NEARBY("warp.none-nearby", "radius"),
+    WARP_NEARBY_HEADER("warp.nearby-header", "radius"),
+    WARP_NEARBY_ENTRY("warp.nearby-entry", "name", "distance"),
+    WARP_TELEPORTED("warp.teleported", "name"),
+    WARP_SET("warp.set", "name"),
+    WARP_DELETED("warp.deleted", "name"),
+    SETWARP_USAGE("warp.set-usage"),
+    DELWARP_USAGE("warp.delete-usage"),
+    HOME_NONE("home.none"),
+    HOME_LIST("home.list", "count", "max", "homes"),
+    HOME_NOT_FOUND("home.not-found", "name"),
+    HOME_TELEPORTED("home.teleported", "name"),
+    HOME_SET("home.set", "name"),
+    HOME_LIMIT("home.limit", "max"),
+    HOME_DELETED("home.deleted", "name"),
+    DELHOME_USAGE("home.delete-usage"),
+    INVALID_LOCATION_NAME("location.invalid-name"),
+    LOCATION_WORLD_MISSING("location.world-missing"),
+
+    RATE_LIMIT_WAIT("rate-limit.wait", "seconds"),
+    RATE_LIMIT_BUSY("rate-limit.busy"),
+
+    PERMS_REFRESHED_ALL("perms.refreshed-all", "count"),
+    PERMS_REFRESHED("perms.refreshed", "player"),
+    PERMS_PLAYER_OFFLINE("perms.player-offline", "player"),
+
+    SPAWN_TELEPORTED("spawn.teleported"),
+    SPAWN_DEFAULT_TELEPORTED("spawn.default-teleported"),
+    FIRST_SPAWN_SET("spawn.first-spawn-set"),
+    WORLD_SPAWN_SET("spawn.world-spawn-set");
+
+    private final String key;
+    private final String[] parameters;
+
+    Message(String key, String... parameters) {
+        this.key = key;
+        this.parameters = parameters;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int parameterIndex(String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].equals(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class Messages {
+
+    static final class Template {
+        private final String[] literals;
+        private final int[] slots;
+        private final int staticLength;
+
+        private Template(String[] literals, int[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+            int length = 0;
+            for (String literal : literals) length += literal.length();
+            this.staticLength = length;
+        }
+
+        static Template compile(Message message, String text) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            StringBuilder literal = new StringBuilder(text.length());
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                int close = c == '{' ? text.indexOf('}', i + 1) : -1;
+                int slot = close > 0 ? message.parameterIndex(text.substring(i + 1, close)) : -1;
+                if (slot < 0) {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(slot);
+                i = close + 1;
+            }
+            literals.add(literal.toString());
+            return new Template(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String render(Object... args) {
+            if (slots.length == 0) return literals[0];
+
+            String[] values = new String[slots.length];
+            int length = staticLength;
+            for (int i = 0; i < slots.length; i++) {
+                Object value = slots[i] < args.length ? args[slots[i]] : null;
+                values[i] = String.valueOf(value);
+                length += values[i].length();
+            }
+            StringBuilder out = new StringBuilder(length);
+            for (int i = 0; i < slots.length; i++) {
+                out.append(literals[i]).append(values[i]);
+            }
+            return out.append(literals[slots.length]).toString();
+        }
+
+        Template bind(Object... args) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            StringBuilder literal = new StringBuilder(this.literals[0]);
+            for (int i = 0; i < this.slots.length; i++) {
+                int slot = this.slots[i];
+                if (slot < args.length && args[slot] != null) {
+                    literal.append(args[slot]);
+                } else {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(slot);
+                }
+                literal.append(this.literals[i + 1]);
+            }
+            literals.add(literal.toString());
+            return new Template(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Template prefixed(String prefix, boolean everyLine) {
+            String[] prefixedLiterals = literals.clone();
+            prefixedLiterals[0] = prefix + prefixedLiterals[0];
+            if (everyLine) {
+                for (int i = 0; i < prefixedLiterals.length; i++) {
+                    prefixedLiterals[i] = prefixedLiterals[i].replace("\n", "\n" + prefix);
+                }
+            }
+            return new Template(prefixedLiterals, slots);
+        }
+    }
+
+    record Bound(Messages messages, Template template) {}
+
+    private record Compiled(Template[] plain, Template[] prefixed) {}
+
+    private static final Message[] MESSAGES = Message.values();
+
+    private final YamlConfiguration config;
+    private final YamlConfiguration defaults;
+    private final ConcurrentHashMap<String, Compiled> locales = new ConcurrentHashMap<>();
+    private final Compiled fallback;
+
+    Messages(YamlConfiguration config, YamlConfiguration defaults) {
+        this.config = config;
+        this.defaults = defaults;
+        this.fallback = compile(null);
+    }
+
+    Template get(Message message) {
+        return fallback.plain[message.ordinal()];
+    }
+
+    Template get(CommandSender sender, Message message) {
+        return compiled(sender).plain[message.ordinal()];
+    }
+
+    String render(Message message, Object... args) {
+        return get(message).render(args);
+    }
+
+    String render(CommandSender sender, Message message, Object... args) {
+        return get(sender, message).render(args);
+    }
+
+    void send(CommandSender sender, Message message, Object... args) {
+        sender.sendMessage(compiled(sender).prefixed[message.ordinal()].render(args));
+    }
+
+    void broadcast(Message message, Object... args) {
+        for (Player player : Bukkit.getOnlinePlayers()) send(player, message, args);
+        send(Bukkit.getConsoleSender(), message, args);
+    }
+
+    String timeLeft(long until, long now) {
+        long left = (until - now) / 1000;
+        return render(Message.DURATION_TIME_LEFT, left / 86_400, (left % 86_400) / 3_600);
+    }
+
+    String timeLeft(CommandSender sender, long until, long now) {
+        long left = (until - now) / 1000;
+        return render(sender, Message.DURATION_TIME_LEFT, left / 86_400, (left % 86_400) / 3_600);
+    }
+
+    private Compiled compiled(CommandSender sender) {
+        if (!(sender instanceof Player player)) return fallback;
+        String locale = player.getLocale();
+        if (locale == null || locale.isEmpty()) return fallback;
+        return locales.computeIfAbsent(locale.toLowerCase(Locale.ROOT), this::compile);
+    }
+
+    private Compiled compile(String locale) {
+        ConfigurationSection localeSection = locale != null ? findLocale(locale) : null;
+        if (locale != null && localeSection == null) return fallback;
+        Template[] plain = new Template[MESSAGES.length];
+        String[] raw = new String[MESSAGES.length];
+        boolean[] lists = new boolean[MESSAGES.length];
+        for (Message message : MESSAGES) {
+            ConfigurationSection source = localeSection != null && localeSection.isSet(message.key()) ? localeSection
+                    : config.isSet("default." + message.key()) ? config.getConfigurationSection("default")
+                    : defaults.getConfigurationSection("default");
+            String text;
+            if (source == null || !source.isSet(message.key())) {
+                text = message.key();
+            } else if (source.isList(message.key())) {
+                text = String.join("\n", source.getStringList(message.key()));
+                lists[message.ordinal()] = true;
+            } else {
+                text = source.getString(message.key(), message.key());
+            }
+            raw[message.ordinal()] = text;
+            plain[message.ordinal()] = Template.compile(message, text);
+        }
+
+        String prefix = raw[Message.PREFIX.ordinal()];
+        Template[] prefixed = new Template[MESSAGES.length];
+        for (int i = 0; i < MESSAGES.length; i++) prefixed[i] = plain[i].prefixed(prefix, lists[i]);
+        return new Compiled(plain, prefixed);
+    }
+
+    private ConfigurationSection findLocale(String locale) {
+        ConfigurationSection section = config.getConfigurationSection("locales");
+        if (section == null) return null;
+        if (section.isConfigurationSection(locale)) return section.getConfigurationSection(locale);
+
+        int separator = locale.indexOf('_');
+        String language = separator > 0 ? locale.substring(0, separator) : locale;
+        if (section.isConfigurationSection(language)) return section.getConfigurationSection(language);
+        for (String key : section.getKeys(false)) {
+            if (key.startsWith(language + "_")) return section.getConfigurationSection(key);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+final class Metrics {
+
+    static final class Timer {
+        private static final int MIN_SHIFT = 10;
+        private static final int BUCKETS = 25;
+
+        private final String family;
+        private final String label;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Timer(String family, String label) {
+            this.family = family;
+            this.label = label;
+            for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            int bucket = 64 - Long.numberOfLeadingZeros(Math.max(0, nanos - 1) >>> MIN_SHIFT);
+            buckets[Math.min(bucket, BUCKETS - 1)].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000.0;
+        }
+
+        double maxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        double quantileMillis(double quantile) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) return i == BUCKETS - 1 ? maxMillis() : upperBoundNanos(i) / 1_000_000.0;
+            }
+            return maxMillis();
+        }
+
+        String name() {
+            return label.isEmpty() ? family : family + "{" + label + "}";
+        }
+
+        private static long upperBoundNanos(int bucket) {
+            return 1L << (MIN_SHIFT + bucket);
+        }
+    }
+
+    private record Family(String name, String type, String help) {}
+
+    private record Gauge(String name, LongSupplier value) {}
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+    private final List<Timer> timers = new ArrayList<>();
+    private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    synchronized Timer timer(String family, String label, String help) {
+        families.putIfAbsent(family, new Family(family, "histogram", help));
+        Timer timer = new Timer(family, label);
+        timers.add(timer);
+        return timer;
+    }
+
+    synchronized LongAdder counter(String name, String help) {
+        families.putIfAbsent(name, new Family(name, "counter", help));
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    synchronized void gauge(String name, String help, LongSupplier value) {
+        families.putIfAbsent(name, new Family(name, "gauge", help));
+        gauges.add(new Gauge(name, value));
+    }
+
+    synchronized List<Timer> timers() {
+        return List.copyOf(timers);
+    }
+
+    synchronized Map<String, Long> counterValues() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((name, adder) -> values.put(name, adder.sum()));
+        return values;
+    }
+
+    synchronized Map<String, Long> gaugeValues() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Gauge gauge : gauges) values.put(gauge.name(), gauge.value().getAsLong());
+        return values;
+    }
+
+    synchronized String renderPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name()).append(' ').append(family.help()).append('\n');
+            out.append("# TYPE ").append(family.name()).append(' ').append(family.type()).append('\n');
+            switch (family.type()) {
+                case "histogram" -> {
+                    for (Timer timer : timers) {
+                        if (timer.family.equals(family.name())) renderHistogram(out, timer);
+                    }
+                }
+                case "counter" -> out.append(family.name()).append(' ').append(counters.get(family.name()).sum()).append('\n');
+                default -> {
+                    for (Gauge gauge : gauges) {
+                        if (gauge.name().equals(family.name())) {
+                            out.append(family.name()).append(' ').append(gauge.value().getAsLong()).append('\n');
+                        }
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void renderHistogram(StringBuilder out, Timer timer) {
+        String separator = timer.label.isEmpty() ? "" : ",";
+        long cumulative = 0;
+        for (int i = 0; i < Timer.BUCKETS - 1; i++) {
+            cumulative += timer.buckets[i].sum();
+            out.append(timer.family).append("_bucket{").append(timer.label).append(separator)
+                    .append("le=\"").append(Timer.upperBoundNanos(i) / 1e9).append("\"} ").append(cumulative).append('\n');
+        }
+        long count = timer.count.sum();
+        out.append(timer.family).append("_bucket{").append(timer.label).append(separator)
+                .append("le=\"+Inf\"} ").append(count).append('\n');
+        String labels = timer.label.isEmpty() ? "" : "{" + timer.label + "}";
+        out.append(timer.family).append("_sum").append(labels).append(' ').append(timer.totalNanos.sum() / 1e9).append('\n');
+        out.append(timer.family).append("_count").append(labels).append(' ').append(count).append('\n');
+    }
+}
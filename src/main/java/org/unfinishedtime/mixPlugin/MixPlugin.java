@@ -18,25 +18,44 @@ package org.unfinishedtime.mixPlugin;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.OfflinePlayer;
-import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.spigotmc.event.player.PlayerSpawnLocationEvent;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 public final class MixPlugin extends JavaPlugin implements Listener, TabCompleter {
 
@@ -47,30 +66,169 @@ public final class MixPlugin extends JavaPlugin implements Listener, TabComplete
     public static final String PERM_TPA_ACCEPT = PERMISSION_PREFIX + "tpa.accept";
     public static final String PERM_TPA_DENY = PERMISSION_PREFIX + "tpa.deny";
     public static final String PERM_BAN = PERMISSION_PREFIX + "ban";
+    public static final String PERM_BAN_IP = PERMISSION_PREFIX + "banip";
+    public static final String PERM_BAN_WAVE = PERMISSION_PREFIX + "banwave";
     public static final String PERM_UNBAN = PERMISSION_PREFIX + "unban";
     public static final String PERM_BANS = PERMISSION_PREFIX + "bans";
+    public static final String PERM_BANS_TRANSFER = PERMISSION_PREFIX + "bans.transfer";
+    public static final String PERM_HISTORY = PERMISSION_PREFIX + "history";
     public static final String PERM_SPAWN = PERMISSION_PREFIX + "spawn";
     public static final String PERM_SET_FIRST_SPAWN = PERMISSION_PREFIX + "setfirstspawn";
     public static final String PERM_SET_WORLD_SPAWN = PERMISSION_PREFIX + "setworldspawn";
+    public static final String PERM_WARP = PERMISSION_PREFIX + "warp";
+    public static final String PERM_SET_WARP = PERMISSION_PREFIX + "setwarp";
+    public static final String PERM_HOME = PERMISSION_PREFIX + "home";
+    public static final String PERM_SET_HOME = PERMISSION_PREFIX + "sethome";
+    public static final String PERM_STATS = PERMISSION_PREFIX + "stats";
+    public static final String PERM_REFRESH_PERMS = PERMISSION_PREFIX + "refreshperms";
+    public static final String PERM_RATE_LIMIT_BYPASS = PERMISSION_PREFIX + "ratelimit.bypass";
 
-    private static final String PLUGIN_PREFIX = "§8[§6MixPlugin§8] ";
     private static final long REQUEST_TIMEOUT = 120_000;
-    private final Map<UUID, Location> deathLocations = new HashMap<>();
-    private final Map<UUID, UUID> teleportRequests = new HashMap<>();
-    private final Map<UUID, Long> requestTimestamps = new HashMap<>();
+    private static final int MAX_REQUESTS_PER_TARGET = 5;
+    private static final int MAX_REQUESTS_PER_REQUESTER = 3;
+    private static final int MAX_COMPLETIONS = 50;
+    private static final int BANS_PER_PAGE = 8;
+    private static final int HISTORY_LIMIT = 15;
+    private static final int NEARBY_WARP_LIMIT = 10;
+    private static final long HOME_UNLOAD_DELAY = 600L;
+    private static final String DEFAULT_HOME = "home";
+    private static final String[] SUBCOMMANDS = {
+            "back", "ban", "banip", "bans", "banwave", "delhome", "delwarp", "history", "home", "refreshperms", "setfirstspawn",
+            "sethome", "setwarp", "setworldspawn", "spawn", "stats", "tpa", "unban", "warp"
+    };
+    private static final PermissionNode[] SUBCOMMAND_PERMISSIONS = {
+            PermissionNode.BACK, PermissionNode.BAN, PermissionNode.BAN_IP, PermissionNode.BANS, PermissionNode.BAN_WAVE,
+            PermissionNode.SET_HOME, PermissionNode.SET_WARP, PermissionNode.HISTORY, PermissionNode.HOME,
+            PermissionNode.REFRESH_PERMS, PermissionNode.SET_FIRST_SPAWN, PermissionNode.SET_HOME, PermissionNode.SET_WARP, PermissionNode.SET_WORLD_SPAWN,
+            PermissionNode.SPAWN, PermissionNode.STATS, PermissionNode.TPA, PermissionNode.UNBAN, PermissionNode.WARP
+    };
+    private static final List<String> WARP_KEYWORDS = List.of("near", "nearest");
+    private static final List<String> BAN_DAY_COMPLETIONS = List.of("0", "7", "30");
+    private DeathHistory deathHistory;
+    private File deathsFile;
+    private final Metrics metrics = new Metrics();
+    private final Map<String, Metrics.Timer> commandTimers = new HashMap<>();
+    private final Metrics.Timer preLoginTimer = metrics.timer(
+            "mixplugin_event_duration_seconds", "event=\"pre_login\"", "Time spent in MixPlugin event handlers");
+    private final Metrics.Timer joinTimer = metrics.timer(
+            "mixplugin_event_duration_seconds", "event=\"join\"", "Time spent in MixPlugin event handlers");
+    private final LongAdder bansChecked = metrics.counter("mixplugin_bans_checked_total", "Logins checked against the ban index");
+    private final LongAdder bansHit = metrics.counter("mixplugin_bans_hit_total", "Logins rejected because of a ban");
+    private final LongAdder tpaCreated = metrics.counter("mixplugin_tpa_created_total", "Teleport requests sent");
+    private final LongAdder tpaExpired = metrics.counter("mixplugin_tpa_expired_total", "Teleport requests that expired");
+    private final LongAdder tpaAccepted = metrics.counter("mixplugin_tpa_accepted_total", "Teleport requests accepted");
+    private final LongAdder firstJoins = metrics.counter("mixplugin_first_joins_total", "New players placed at the first-join spawn");
+    private final LongAdder rateLimited = metrics.counter("mixplugin_rate_limited_total", "Commands rejected by a player's rate limit or cooldown");
+    private final LongAdder rateLimitBusy = metrics.counter("mixplugin_rate_limit_busy_total", "Teleport commands rejected by the per-tick cap");
+    private final TpaRequestManager tpaRequests = new TpaRequestManager(
+            REQUEST_TIMEOUT, MAX_REQUESTS_PER_TARGET, MAX_REQUESTS_PER_REQUESTER);
+    private final BanIndex banIndex = new BanIndex();
+    private final BanListView banListView = new BanListView(banIndex);
+    private final IpBanIndex ipBanIndex = new IpBanIndex();
+    private final AtomicBoolean banTransferRunning = new AtomicBoolean();
+    private DataWriter dataWriter;
+    private BanStore banStore;
+    private BanExpiryScheduler banExpiryScheduler;
+    private BanSyncService banSyncService;
+    private AuditLog auditLog;
+    private Messages messages;
     private File bansFile;
-    private FileConfiguration bansConfig;
     private File spawnFile;
     private FileConfiguration spawnConfig;
+    private final SpawnRegistry spawnRegistry = new SpawnRegistry();
+    private WarpRegistry warpRegistry;
+    private HomeRegistry homeRegistry;
+    private TeleportScheduler teleportScheduler;
+    private final OnlinePlayerIndex onlinePlayers = new OnlinePlayerIndex();
+    private final PermissionCache permissionCache = new PermissionCache();
+    private long[] recentFirstJoins;
+    private int recentFirstJoinHead;
+    private long firstJoinWindow;
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private PlayerNameCache nameCache;
+    private volatile int sampledTpaPending;
+    private volatile int sampledDeathHistoryPlayers;
+    private volatile int sampledTeleportQueueDepth;
+    private volatile int sampledOnlinePlayers;
+    private final Map<Integer, List<String>> subcommandCompletions = new HashMap<>();
+
+    public MixPlugin() {
+        super();
+    }
+
+    MixPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     @Override
     public void onEnable() {
+        dataWriter = new DataWriter(getLogger(), metrics.timer(
+                "mixplugin_save_duration_seconds", "", "Time spent writing a data file"));
+        dataWriter.start();
+        saveDefaultConfig();
+        setupMessages();
         setupConfigs();
+        setupAuditLog();
+        nameCache = new PlayerNameCache(new File(getServer().getWorldContainer(), "usercache.json"),
+                Math.max(1, getConfig().getLong("name-cache.max-age-days", 30)) * 86_400_000L,
+                getConfig().getInt("name-cache.max-entries", 10000), getLogger());
+        nameCache.start();
+        banExpiryScheduler = new BanExpiryScheduler(banIndex, ipBanIndex, banStore, auditLog, getLogger());
+        banExpiryScheduler.start(this);
+        startBanSync();
+        teleportScheduler = new TeleportScheduler(this,
+                getConfig().getInt("teleport.chunk-radius", 1),
+                getConfig().getInt("teleport.chunks-per-tick", 4),
+                getConfig().getInt("teleport.teleports-per-tick", 5),
+                metrics.timer("mixplugin_teleport_duration_seconds", "", "Time spent in Player#teleport"));
+        teleportScheduler.start();
+        recentFirstJoins = new long[Math.max(1, getConfig().getInt("first-join.burst-threshold", 5))];
+        firstJoinWindow = Math.max(1, getConfig().getLong("first-join.window-seconds", 60)) * 1000L;
+        getServer().getScheduler().runTaskTimer(this, this::releaseFirstSpawnChunks, 200L, 200L);
+        getServer().getScheduler().runTaskTimer(this, this::sweepTeleportRequests, 20L, 20L);
+        getServer().getScheduler().runTaskTimer(this, this::saveDeathHistory, 6000L, 6000L);
         getLogger().info("MixPlugin loaded v1.6.0");
+        onlinePlayers.rebuild(getServer().getOnlinePlayers());
+        for (Player player : getServer().getOnlinePlayers()) {
+            nameCache.remember(player.getUniqueId(), player.getName(), System.currentTimeMillis());
+        }
+        rateLimiter.load(getConfig().getConfigurationSection("rate-limit"));
+        refreshAllPermissions();
+        long permissionRefresh = Math.max(1, getConfig().getLong("permissions.refresh-seconds", 30)) * 20L;
+        getServer().getScheduler().runTaskTimer(this, this::refreshAllPermissions, permissionRefresh, permissionRefresh);
+        setupMetrics();
         getServer().getPluginManager().registerEvents(this, this);
         Objects.requireNonNull(this.getCommand("mp")).setTabCompleter(this);
     }
 
+    @Override
+    public void onDisable() {
+        if (deathHistory != null) saveDeathHistory();
+        if (teleportScheduler != null) teleportScheduler.stop();
+        if (banSyncService != null) banSyncService.stop();
+        if (banExpiryScheduler != null) banExpiryScheduler.stop();
+        if (banStore != null) banStore.close();
+        if (auditLog != null) auditLog.close();
+        if (nameCache != null) nameCache.close();
+        if (dataWriter != null) dataWriter.shutdown();
+    }
+
+    private void setupMessages() {
+        File messagesFile = new File(getDataFolder(), "messages.yml");
+        if (!messagesFile.exists() && getResource("messages.yml") != null) saveResource("messages.yml", false);
+
+        YamlConfiguration defaults = new YamlConfiguration();
+        InputStream bundled = getResource("messages.yml");
+        if (bundled != null) {
+            try (Reader reader = new InputStreamReader(bundled, StandardCharsets.UTF_8)) {
+                defaults = YamlConfiguration.loadConfiguration(reader);
+            } catch (IOException e) {
+                getLogger().warning("Failed to read bundled messages.yml: " + e.getMessage());
+            }
+        }
+        messages = new Messages(YamlConfiguration.loadConfiguration(messagesFile), defaults);
+    }
+
     private void setupConfigs() {
         if (!getDataFolder().exists() && !getDataFolder().mkdirs()) {
             getLogger().warning("Failed to create plugin directory");
@@ -78,14 +236,7 @@ public final class MixPlugin extends JavaPlugin implements Listener, TabComplete
         }
 
         bansFile = new File(getDataFolder(), "bans.yml");
-        if (!bansFile.exists()) {
-            try {
-                if (!bansFile.createNewFile()) getLogger().warning("Failed to create bans.yml");
-            } catch (IOException e) {
-                getLogger().severe("Failed to create bans.yml: " + e.getMessage());
-            }
-        }
-        bansConfig = YamlConfiguration.loadConfiguration(bansFile);
+        setupBanStore();
 
         spawnFile = new File(getDataFolder(), "spawn.yml");
         if (!spawnFile.exists()) {
@@ -102,58 +253,281 @@ public final class MixPlugin extends JavaPlugin implements Listener, TabComplete
             }
         }
         spawnConfig = YamlConfiguration.loadConfiguration(spawnFile);
+        spawnRegistry.load(spawnConfig);
+        warpRegistry = new WarpRegistry(new File(getDataFolder(), "warps"), dataWriter, getLogger());
+        warpRegistry.load();
+        homeRegistry = new HomeRegistry(new File(getDataFolder(), "homes"), dataWriter, getLogger());
+
+        deathHistory = new DeathHistory(
+                getConfig().getInt("death-history.size", 5),
+                getConfig().getInt("death-history.max-players", 2000));
+        deathsFile = new File(getDataFolder(), "deaths.dat");
+        if (deathsFile.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(deathsFile))) {
+                deathHistory.load(in);
+            } catch (IOException e) {
+                getLogger().severe("Failed to load death history: " + e.getMessage());
+            }
+        }
     }
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
-        deathLocations.put(player.getUniqueId(), player.getLocation());
-        sendMessage(player, "你的死亡位置已记录，使用 /mp back 可以回到这里");
+        deathHistory.record(player.getUniqueId(), player.getLocation(), System.currentTimeMillis());
+        sendMessage(player, Message.DEATH_RECORDED);
     }
 
-    @EventHandler
+    private void setupBanStore() {
+        String type = getConfig().getString("storage.type", "yaml").toLowerCase();
+        if (type.equals("sqlite")) {
+            File databaseFile = new File(getDataFolder(), getConfig().getString("storage.sqlite-file", "bans.db"));
+            SqliteBanStore sqliteStore = new SqliteBanStore(databaseFile, getLogger());
+            try {
+                sqliteStore.open();
+                migrateYamlBans(sqliteStore);
+                banStore = sqliteStore;
+            } catch (SQLException e) {
+                getLogger().severe("Failed to open " + databaseFile.getName() + ", falling back to bans.yml: " + e.getMessage());
+                sqliteStore.close();
+            }
+        } else if (!type.equals("yaml")) {
+            getLogger().warning("Unknown storage type '" + type + "', using yaml");
+        }
+
+        if (banStore == null) {
+            if (!bansFile.exists()) {
+                try {
+                    if (!bansFile.createNewFile()) getLogger().warning("Failed to create bans.yml");
+                } catch (IOException e) {
+                    getLogger().severe("Failed to create bans.yml: " + e.getMessage());
+                }
+            }
+            banStore = new YamlBanStore(bansFile, new File(getDataFolder(), "bans.snapshot"), dataWriter, getLogger(),
+                    banIndex::entries, ipBanIndex::entries);
+        }
+        String sharedDirectory = getConfig().getString("sync.shared-directory", "");
+        if (!sharedDirectory.isEmpty()) {
+            BanJournal journal = new BanJournal(new File(sharedDirectory, "bans.journal"),
+                    new File(getDataFolder(), "bans.journal.offset"), new File(getDataFolder(), "server-id"), getLogger());
+            banStore = new SharedBanStore(banStore, journal);
+        }
+        banIndex.load(banStore.loadAll());
+        ipBanIndex.load(banStore.loadIpBans());
+        backfillBanNames();
+    }
+
+    private void setupAuditLog() {
+        AuditLog log = new AuditLog(new File(getDataFolder(), "audit"),
+                Math.max(1, getConfig().getLong("audit.segment-size-mb", 8)) << 20,
+                getConfig().getLong("audit.retention-days", 0) * 86_400_000L,
+                getLogger());
+        try {
+            log.open();
+        } catch (IOException e) {
+            getLogger().severe("Failed to open the audit log, ban history will not be recorded: " + e.getMessage());
+            log.close();
+            return;
+        }
+        auditLog = log;
+        getServer().getScheduler().runTaskTimerAsynchronously(this, auditLog::compact, 1200L, 72_000L);
+    }
+
+    private void startBanSync() {
+        BanStore localStore = banStore instanceof SharedBanStore shared ? shared.local() : banStore;
+        YamlBanStore yamlStore = localStore instanceof YamlBanStore yaml && getConfig().getBoolean("sync.watch-file", true)
+                ? yaml : null;
+        BanJournal journal = banStore instanceof SharedBanStore shared ? shared.journal() : null;
+        if (yamlStore == null && journal == null) return;
+
+        banSyncService = new BanSyncService(this, messages, banIndex, ipBanIndex, localStore, yamlStore, bansFile,
+                journal, auditLog);
+        try {
+            banSyncService.start();
+        } catch (IOException e) {
+            getLogger().severe("Failed to start ban sync: " + e.getMessage());
+            banSyncService = null;
+        }
+    }
+
+    private void backfillBanNames() {
+        List<BanEntry> resolved = new ArrayList<>();
+        for (BanEntry ban : banIndex.entries()) {
+            if (ban.name() != null) continue;
+            String name = Bukkit.getOfflinePlayer(ban.uuid()).getName();
+            if (name != null) {
+                resolved.add(new BanEntry(ban.uuid(), name, ban.reason(), ban.operator(), ban.date(), ban.until()));
+            }
+        }
+        if (resolved.isEmpty()) return;
+
+        resolved.forEach(banIndex::put);
+        banStore.saveAll(resolved);
+        getLogger().info("Stored player names for " + resolved.size() + " existing bans");
+    }
+
+    private void migrateYamlBans(SqliteBanStore sqliteStore) throws SQLException {
+        if (!bansFile.exists() || !sqliteStore.isEmpty()) return;
+
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(bansFile);
+        List<BanEntry> entries = YamlBanStore.parse(yaml.getConfigurationSection("bans"));
+        List<IpBan> ipBans = YamlBanStore.parseIpBans(yaml.getMapList("ip-bans"));
+        if (entries.isEmpty() && ipBans.isEmpty()) return;
+
+        // Throws before bans.yml is touched, so a failed migration falls back to the yaml store
+        sqliteStore.importAll(entries, ipBans);
+        File migratedFile = new File(getDataFolder(), "bans.yml.migrated");
+        if (bansFile.renameTo(migratedFile)) {
+            getLogger().info("Migrated " + entries.size() + " bans from bans.yml, original kept as " + migratedFile.getName());
+        } else {
+            getLogger().warning("Migrated " + entries.size() + " bans from bans.yml but failed to rename it");
+        }
+    }
+
+    private void setupMetrics() {
+        for (String subcommand : SUBCOMMANDS) {
+            commandTimers.put(subcommand, metrics.timer("mixplugin_command_duration_seconds",
+                    "command=\"" + subcommand + "\"", "Time spent handling /mp subcommands"));
+        }
+        metrics.gauge("mixplugin_bans", "Active bans in the ban index", banIndex::size);
+        metrics.gauge("mixplugin_ip_bans", "Active IP and range bans", ipBanIndex::size);
+        metrics.gauge("mixplugin_tpa_pending", "Pending teleport requests", () -> sampledTpaPending);
+        metrics.gauge("mixplugin_name_cache_entries", "Names in the offline player name cache", nameCache::size);
+        metrics.gauge("mixplugin_death_history_players", "Players with a stored death history", () -> sampledDeathHistoryPlayers);
+        metrics.gauge("mixplugin_teleport_queue_depth", "Teleports waiting for chunks or tick budget", () -> sampledTeleportQueueDepth);
+        metrics.gauge("mixplugin_writer_queue_depth", "Data files waiting to be written", dataWriter::queueDepth);
+        metrics.gauge("mixplugin_online_players", "Players in the online name index", () -> sampledOnlinePlayers);
+        // These structures belong to the main thread, the export runs on another one
+        sampleGauges();
+        getServer().getScheduler().runTaskTimer(this, this::sampleGauges, 20L, 20L);
+
+        if (getConfig().getBoolean("metrics.export", false)) {
+            String path = getConfig().getString("metrics.file", "metrics.prom");
+            File file = new File(path);
+            File metricsFile = file.isAbsolute() ? file : new File(getDataFolder(), path);
+            long interval = Math.max(1, getConfig().getLong("metrics.interval-seconds", 15)) * 20L;
+            getServer().getScheduler().runTaskTimerAsynchronously(this,
+                    () -> dataWriter.markDirty(metricsFile, metrics::renderPrometheus), interval, interval);
+        }
+    }
+
+    private void sampleGauges() {
+        sampledTpaPending = tpaRequests.size();
+        sampledDeathHistoryPlayers = deathHistory.size();
+        sampledTeleportQueueDepth = teleportScheduler.queueDepth();
+        sampledOnlinePlayers = onlinePlayers.size();
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        long start = System.nanoTime();
+        checkBan(event);
+        preLoginTimer.record(System.nanoTime() - start);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void preloadHomes(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) homeRegistry.load(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerLogin(PlayerLoginEvent event) {
-        String path = "bans." + event.getPlayer().getUniqueId();
-        if (bansConfig.contains(path)) {
-            long until = bansConfig.getLong(path + ".until", 0);
-            if (until > 0 && System.currentTimeMillis() > until) {
-                bansConfig.set(path, null);
-                saveBansConfig();
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) scheduleHomeUnload(event.getPlayer().getUniqueId());
+    }
+
+    private void scheduleHomeUnload(UUID uuid) {
+        getServer().getScheduler().runTaskLater(this, () -> {
+            if (Bukkit.getPlayer(uuid) == null) homeRegistry.unload(uuid);
+        }, HOME_UNLOAD_DELAY);
+    }
+
+    private void checkBan(AsyncPlayerPreLoginEvent event) {
+        bansChecked.increment();
+        long now = System.currentTimeMillis();
+        BanEntry ban = banIndex.find(event.getUniqueId());
+        if (ban != null) {
+            if (!ban.isExpired(now)) {
+                bansHit.increment();
+                event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, ban.kickMessage(messages, now));
                 return;
             }
-            String reason = bansConfig.getString(path + ".reason", "违反服务器规则");
-            String operator = bansConfig.getString(path + ".operator", "系统");
-            String timeLeft = until > 0 ? formatTimeLeft(until) : "永久";
-            event.setResult(PlayerLoginEvent.Result.KICK_BANNED);
-            event.setKickMessage(
-                    "§c§l你已被封禁\n\n" +
-                            "§7原因: §f" + reason + "\n" +
-                            "§7操作者: §f" + operator + "\n" +
-                            "§7剩余时间: §f" + timeLeft + "\n\n" +
-                            "§7如有疑问请联系管理员"
-            );
+            if (banIndex.remove(ban)) {
+                banStore.delete(ban.uuid());
+                if (auditLog != null) auditLog.record(AuditLog.Action.EXPIRE, ban, "系统", now);
+            }
+        }
+
+        if (ipBanIndex.size() == 0 || event.getAddress() == null) return;
+        IpBan ipBan = ipBanIndex.match(IpRange.of(event.getAddress()), now);
+        if (ipBan != null) {
+            bansHit.increment();
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, ipBan.kickMessage(messages, now));
         }
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        long start = System.nanoTime();
         Player player = event.getPlayer();
+        onlinePlayers.add(player);
+        nameCache.remember(player.getUniqueId(), player.getName(), System.currentTimeMillis());
+        permissionCache.refresh(player);
+        rateLimiter.assign(player);
+        joinTimer.record(System.nanoTime() - start);
+    }
 
-        if (!player.hasPlayedBefore() && spawnConfig.contains("first-spawn")) {
-            Map<String, Object> serialized = (Map<String, Object>) spawnConfig.get("first-spawn");
-            World world = Bukkit.getWorld((String) serialized.get("world"));
-            if (world != null) {
-                Location spawn = new Location(
-                        world,
-                        (double) serialized.get("x"),
-                        (double) serialized.get("y"),
-                        (double) serialized.get("z"),
-                        ((Double) serialized.get("yaw")).floatValue(),
-                        ((Double) serialized.get("pitch")).floatValue()
-                );
-                player.teleport(spawn);
-            }
-        }
+    @EventHandler
+    public void onPlayerSpawnLocation(PlayerSpawnLocationEvent event) {
+        if (event.getPlayer().hasPlayedBefore()) return;
+        Location spawn = spawnRegistry.firstSpawn();
+        if (spawn == null) return;
+
+        event.setSpawnLocation(spawn);
+        firstJoins.increment();
+        long now = System.currentTimeMillis();
+        recentFirstJoins[recentFirstJoinHead] = now;
+        recentFirstJoinHead = (recentFirstJoinHead + 1) % recentFirstJoins.length;
+        if (!teleportScheduler.isPinned() && isFirstJoinBurst(now)) teleportScheduler.pin(spawn);
+    }
+
+    private boolean isFirstJoinBurst(long now) {
+        long oldest = recentFirstJoins[recentFirstJoinHead];
+        return oldest != 0 && now - oldest <= firstJoinWindow;
+    }
+
+    private void releaseFirstSpawnChunks() {
+        if (teleportScheduler.isPinned() && !isFirstJoinBurst(System.currentTimeMillis())) teleportScheduler.unpin();
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        onlinePlayers.remove(event.getPlayer());
+        permissionCache.remove(event.getPlayer().getUniqueId());
+        rateLimiter.release(event.getPlayer().getUniqueId(), System.currentTimeMillis());
+        tpaRequests.clear(event.getPlayer().getUniqueId());
+        teleportScheduler.cancel(event.getPlayer().getUniqueId());
+        scheduleHomeUnload(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        permissionCache.refresh(event.getPlayer());
+        rateLimiter.assign(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        spawnRegistry.invalidate();
+        warpRegistry.invalidate();
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        spawnRegistry.invalidate();
+        warpRegistry.invalidate();
+        teleportScheduler.unpin();
     }
 
     @Override
@@ -164,152 +538,221 @@ public final class MixPlugin extends JavaPlugin implements Listener, TabComplete
             return true;
         }
 
-        if (!hasPermission(sender, PERM_USE)) {
-            sendMessage(sender, "§c你没有权限使用此命令！");
+        if (!hasPermission(sender, PermissionNode.USE)) {
+            sendMessage(sender, Message.NO_COMMAND_PERMISSION);
             return true;
         }
 
-        return switch (args[0].toLowerCase()) {
-            case "back" -> handleBackCommand(sender);
+        String subcommand = args[0].toLowerCase();
+        long start = System.nanoTime();
+        boolean handled = switch (subcommand) {
+            case "back" -> handleBackCommand(sender, args);
             case "tpa" -> handleTpaCommand(sender, args);
             case "ban" -> handleBanCommand(sender, args);
+            case "banip" -> handleBanIpCommand(sender, args);
             case "unban" -> handleUnbanCommand(sender, args);
-            case "bans" -> showBanList(sender);
+            case "bans" -> showBanList(sender, args);
+            case "banwave" -> handleBanWaveCommand(sender, args);
+            case "history" -> showHistory(sender, args);
             case "spawn" -> handleSpawnCommand(sender);
             case "setfirstspawn" -> handleSetFirstSpawnCommand(sender);
             case "setworldspawn" -> handleSetWorldSpawnCommand(sender);
+            case "stats" -> showStats(sender);
+            case "refreshperms" -> refreshPermissions(sender, args);
+            case "warp" -> handleWarpCommand(sender, args);
+            case "setwarp" -> handleSetWarpCommand(sender, args);
+            case "delwarp" -> handleDelWarpCommand(sender, args);
+            case "home" -> handleHomeCommand(sender, args);
+            case "sethome" -> handleSetHomeCommand(sender, args);
+            case "delhome" -> handleDelHomeCommand(sender, args);
             default -> {
-                sendMessage(sender, "§c未知命令，输入 /mp 查看帮助");
+                sendMessage(sender, Message.UNKNOWN_COMMAND);
                 yield true;
             }
         };
+        Metrics.Timer timer = commandTimers.get(subcommand);
+        if (timer != null) timer.record(System.nanoTime() - start);
+        return handled;
     }
 
-    private boolean handleBackCommand(CommandSender sender) {
+    private boolean handleBackCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player player)) {
-            sendMessage(sender, "只有玩家才能使用这个命令！");
+            sendMessage(sender, Message.PLAYERS_ONLY);
             return true;
         }
 
-        if (!hasPermission(sender, PERM_BACK)) {
-            sendMessage(sender, "§c你没有使用此命令的权限！");
+        if (!hasPermission(sender, PermissionNode.BACK)) {
+            sendMessage(sender, Message.NO_PERMISSION);
             return true;
         }
 
-        Location deathLoc = deathLocations.get(player.getUniqueId());
-        if (deathLoc == null) {
-            sendMessage(player, "你没有可返回的死亡位置！");
+        int n = 1;
+        if (args.length > 1) {
+            try {
+                n = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                sendMessage(player, Message.BACK_USAGE);
+                return true;
+            }
+        }
+        if (rateLimited(player, RateLimiter.Action.BACK)) return true;
+
+        UUID playerId = player.getUniqueId();
+        int count = deathHistory.count(playerId);
+        if (count == 0) {
+            sendMessage(player, Message.BACK_NONE);
+            return true;
+        }
+        if (n < 1 || n > count) {
+            sendMessage(player, Message.BACK_TOO_FEW, count);
             return true;
         }
 
-        if (deathLoc.getWorld() == null) {
-            sendMessage(player, "死亡位置所在世界已不存在");
-            deathLocations.remove(player.getUniqueId());
+        Location deathLoc = deathHistory.location(playerId, n);
+        if (deathLoc == null) {
+            sendMessage(player, Message.BACK_WORLD_MISSING);
+            deathHistory.remove(playerId, n);
             return true;
         }
 
-        player.teleport(deathLoc);
-        sendMessage(player, "已传送至你的死亡位置");
-        deathLocations.remove(player.getUniqueId());
+        long deathTime = deathHistory.time(playerId, n);
+        teleport(player, deathLoc, p -> {
+            sendMessage(p, Message.BACK_TELEPORTED);
+            deathHistory.removeRecordedAt(p.getUniqueId(), deathTime);
+        });
         return true;
     }
 
     private boolean handleTpaCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player player)) {
-            sendMessage(sender, "只有玩家才能使用这个命令！");
+            sendMessage(sender, Message.PLAYERS_ONLY);
             return true;
         }
 
         if (args.length < 2) {
-            sendMessage(player, "用法: /mp tpa <玩家|accept|deny>");
+            sendMessage(player, Message.TPA_USAGE);
             return true;
         }
 
+        String requesterName = args.length > 2 ? args[2] : null;
         return switch (args[1].toLowerCase()) {
-            case "accept" -> acceptTeleportRequest(player);
-            case "deny" -> denyTeleportRequest(player);
+            case "accept" -> acceptTeleportRequest(player, requesterName);
+            case "deny" -> denyTeleportRequest(player, requesterName);
             default -> sendTeleportRequest(player, args[1]);
         };
     }
 
     private boolean sendTeleportRequest(Player sender, String targetName) {
+        if (rateLimited(sender, RateLimiter.Action.TPA)) return true;
         Player target = Bukkit.getPlayer(targetName);
         if (target == null) {
-            sendMessage(sender, "玩家 " + targetName + " 不在线或不存在！");
+            sendMessage(sender, Message.TPA_PLAYER_OFFLINE, targetName);
             return true;
         }
 
         if (sender.equals(target)) {
-            sendMessage(sender, "你不能请求自己！");
+            sendMessage(sender, Message.TPA_SELF);
             return true;
         }
 
-        teleportRequests.put(target.getUniqueId(), sender.getUniqueId());
-        requestTimestamps.put(target.getUniqueId(), System.currentTimeMillis());
+        TpaRequestManager.Result result = tpaRequests.create(sender.getUniqueId(), target.getUniqueId(), System.currentTimeMillis());
+        if (result == TpaRequestManager.Result.REQUESTER_LIMIT) {
+            sendMessage(sender, Message.TPA_TOO_MANY);
+            return true;
+        }
+        tpaCreated.increment();
 
-        sendMessage(sender, "已向 " + target.getName() + " 发送传送请求");
-        sendMessage(target, sender.getName() + " 想传送到你身边");
-        sendMessage(target, "输入 /mp tpa accept 接受，/mp tpa deny 拒绝");
+        sendMessage(sender, Message.TPA_SENT, target.getName());
+        if (result == TpaRequestManager.Result.CREATED) {
+            sendMessage(target, Message.TPA_RECEIVED, sender.getName());
+        }
         return true;
     }
 
-    private boolean acceptTeleportRequest(Player target) {
-        UUID targetId = target.getUniqueId();
-        if (!validateRequestTimeout(targetId)) {
-            sendMessage(target, "传送请求已过期");
-            cleanRequest(targetId);
+    private boolean acceptTeleportRequest(Player target, String requesterName) {
+        TpaRequestManager.Request request = findTeleportRequest(target, requesterName);
+        if (request == null) return true;
+
+        if (request.isExpired(System.currentTimeMillis())) {
+            tpaRequests.take(target.getUniqueId(), request.requester());
+            tpaExpired.increment();
+            sendMessage(target, Message.TPA_EXPIRED);
             return true;
         }
 
-        UUID requesterId = teleportRequests.get(targetId);
-        if (requesterId == null) {
-            sendMessage(target, "你没有待处理的传送请求！");
+        Player requester = Bukkit.getPlayer(request.requester());
+        if (requester == null) {
+            tpaRequests.take(target.getUniqueId(), request.requester());
+            sendMessage(target, Message.TPA_REQUESTER_OFFLINE);
             return true;
         }
 
-        Player requester = Bukkit.getPlayer(requesterId);
-        if (requester == null) {
-            sendMessage(target, "发送请求的玩家已离线");
-            cleanRequest(targetId);
+        // Only a teleport that will actually run takes from the per-tick budget; a busy tick keeps the request pending
+        if (!hasPermission(target, PermissionNode.RATE_LIMIT_BYPASS)
+                && !rateLimiter.acquireTeleport(teleportScheduler.currentTick())) {
+            rateLimitBusy.increment();
+            sendMessage(target, Message.RATE_LIMIT_BUSY);
             return true;
         }
+        tpaRequests.take(target.getUniqueId(), request.requester());
 
-        requester.teleport(target.getLocation());
-        sendMessage(requester, target.getName() + " 接受了你的传送请求");
-        sendMessage(target, "已接受 " + requester.getName() + " 的传送请求");
-        cleanRequest(targetId);
+        tpaAccepted.increment();
+        sendMessage(requester, Message.TPA_ACCEPTED, target.getName());
+        teleport(requester, target.getLocation(), null);
+        sendMessage(target, Message.TPA_ACCEPT_CONFIRM, requester.getName());
         return true;
     }
 
-    private boolean denyTeleportRequest(Player target) {
-        UUID targetId = target.getUniqueId();
-        UUID requesterId = teleportRequests.get(targetId);
-
-        if (requesterId == null) {
-            sendMessage(target, "你没有待处理的传送请求！");
-            return true;
-        }
+    private boolean denyTeleportRequest(Player target, String requesterName) {
+        TpaRequestManager.Request request = findTeleportRequest(target, requesterName);
+        if (request == null) return true;
+        tpaRequests.take(target.getUniqueId(), request.requester());
 
-        Player requester = Bukkit.getPlayer(requesterId);
+        Player requester = Bukkit.getPlayer(request.requester());
         if (requester != null) {
-            sendMessage(requester, target.getName() + " 拒绝了你的传送请求");
+            sendMessage(requester, Message.TPA_DENIED, target.getName());
         }
-        sendMessage(target, "已拒绝传送请求");
-        cleanRequest(targetId);
+        sendMessage(target, Message.TPA_DENY_CONFIRM);
         return true;
     }
 
+    private TpaRequestManager.Request findTeleportRequest(Player target, String requesterName) {
+        UUID requesterId = null;
+        if (requesterName != null) {
+            Player requester = Bukkit.getPlayer(requesterName);
+            if (requester == null) {
+                sendMessage(target, Message.TPA_PLAYER_OFFLINE, requesterName);
+                return null;
+            }
+            requesterId = requester.getUniqueId();
+        }
+
+        TpaRequestManager.Request request = tpaRequests.find(target.getUniqueId(), requesterId);
+        if (request == null) {
+            if (requesterName != null) sendMessage(target, Message.TPA_NONE_FROM, requesterName);
+            else sendMessage(target, Message.TPA_NONE);
+        }
+        return request;
+    }
+
+    private void sweepTeleportRequests() {
+        for (TpaRequestManager.Request request : tpaRequests.sweep(System.currentTimeMillis())) {
+            tpaExpired.increment();
+            Player requester = Bukkit.getPlayer(request.requester());
+            if (requester == null) continue;
+            Player target = Bukkit.getPlayer(request.target());
+            sendMessage(requester, Message.TPA_REQUEST_EXPIRED,
+                    target != null ? target.getName() : messages.render(requester, Message.TPA_OTHER_PARTY));
+        }
+    }
+
     private boolean handleBanCommand(CommandSender sender, String[] args) {
-        if (args.length < 3) {
-            sendMessage(sender, "§c用法: /mp ban <玩家名> <天数(0=永久)> <原因>");
-            sendMessage(sender, "§7示例: /mp ban Player1 7 使用外挂");
-            sendMessage(sender, "§7示例: /mp ban Player1 0 使用外挂");
+        if (!hasPermission(sender, PermissionNode.BAN)) {
+            sendMessage(sender, Message.NO_PERMISSION);
             return true;
         }
-
-        Player target = Bukkit.getPlayer(args[1]);
-        if (target == null) {
-            sendMessage(sender, "§c玩家不在线或不存在！");
+        if (args.length < 3) {
+            sendMessage(sender, Message.BAN_USAGE);
             return true;
         }
 
@@ -317,329 +760,1059 @@ public final class MixPlugin extends JavaPlugin implements Listener, TabComplete
         try {
             days = Integer.parseInt(args[2]);
         } catch (NumberFormatException e) {
-            sendMessage(sender, "§c天数必须是数字！");
+            sendMessage(sender, Message.BAN_INVALID_DAYS);
             return true;
         }
 
         if (args.length < 4) {
-            sendMessage(sender, "§c请提供封禁原因！");
+            sendMessage(sender, Message.BAN_MISSING_REASON);
             return true;
         }
 
         String reason = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+        Player target = Bukkit.getPlayerExact(args[1]);
+        if (target != null) {
+            commitBan(sender, target.getUniqueId(), target.getName(), reason, days);
+            return true;
+        }
+
+        String input = args[1];
+        nameCache.resolve(input, profile -> getServer().getScheduler().runTask(this, () -> {
+            if (profile != null) {
+                commitBan(sender, profile.uuid(), profile.name(), reason, days);
+                return;
+            }
+            BanEntry existing = banIndex.findByName(input);
+            if (existing != null) commitBan(sender, existing.uuid(), existing.name(), reason, days);
+            else sendMessage(sender, Message.BAN_PLAYER_UNKNOWN, input);
+        }));
+        return true;
+    }
+
+    private void commitBan(CommandSender sender, UUID uuid, String name, String reason, int days) {
+        Player online = Bukkit.getPlayer(uuid);
+        if (online != null) name = online.getName();
+        else if (name == null) {
+            BanEntry existing = banIndex.find(uuid);
+            if (existing != null) name = existing.name();
+        }
+
         long until = days > 0 ? System.currentTimeMillis() + (days * 86_400_000L) : 0;
-        String path = "bans." + target.getUniqueId();
-        bansConfig.set(path + ".reason", reason);
-        bansConfig.set(path + ".operator", sender.getName());
-        bansConfig.set(path + ".until", until);
-        bansConfig.set(path + ".date", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
-
-        saveBansConfig();
-
-        target.kickPlayer(
-                "§c§l你已被封禁\n\n" +
-                        "§7原因: §f" + reason + "\n" +
-                        "§7操作者: §f" + sender.getName() + "\n" +
-                        "§7解封时间: §f" + (until > 0 ? "约" + days + "天后" : "永久") + "\n\n" +
-                        "§7如有疑问请联系管理员"
-        );
-
-        Bukkit.broadcastMessage(
-                PLUGIN_PREFIX + "§c玩家 §e" + target.getName() + " §c已被封禁\n" +
-                        "§7原因: §f" + reason + "\n" +
-                        "§7时长: §f" + (days > 0 ? days + "天" : "永久") + "\n" +
-                        "§7操作者: §f" + sender.getName()
-        );
+        String date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        BanEntry ban = new BanEntry(uuid, name, reason, sender.getName(), date, until);
+        banIndex.put(ban);
+        banStore.save(ban);
+        if (auditLog != null) auditLog.record(AuditLog.Action.BAN, ban, sender.getName(), System.currentTimeMillis());
+
+        if (online != null) online.kickPlayer(ban.kickMessage(messages, System.currentTimeMillis()));
+        messages.broadcast(Message.BAN_BROADCAST, name != null ? name : uuid.toString(), reason,
+                durationArgument(days), sender.getName());
+    }
+
+    private boolean handleBanWaveCommand(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.BAN_WAVE)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        StringBuilder reason = new StringBuilder();
+        int next = quotedArgument(args, 1, reason);
+        if (next < 0 || next + 1 >= args.length) {
+            sendMessage(sender, Message.BANWAVE_USAGE);
+            return true;
+        }
+
+        int days;
+        try {
+            days = Integer.parseInt(args[next]);
+        } catch (NumberFormatException e) {
+            sendMessage(sender, Message.BAN_INVALID_DAYS);
+            return true;
+        }
+
+        String[] targets = Arrays.copyOfRange(args, next + 1, args.length);
+        if (!targets[0].equals("-f")) {
+            resolveBanWave(sender, reason.toString(), days, List.of(targets));
+            return true;
+        }
+        if (targets.length < 2) {
+            sendMessage(sender, Message.BANWAVE_USAGE);
+            return true;
+        }
+
+        File file = resolveServerFile(sender, String.join(" ", Arrays.copyOfRange(targets, 1, targets.length)));
+        if (file == null) return true;
+        if (!file.isFile()) {
+            sendMessage(sender, Message.TRANSFER_MISSING, file.getName());
+            return true;
+        }
+        getServer().getScheduler().runTaskAsynchronously(this, () -> {
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) lines.add(line);
+                }
+            } catch (IOException e) {
+                getLogger().severe("Failed to read ban wave file " + file.getName() + ": " + e.getMessage());
+                sendMessageSync(sender, Message.BANWAVE_READ_FAILED, e.getMessage());
+                return;
+            }
+            resolveBanWave(sender, reason.toString(), days, lines);
+        });
+        return true;
+    }
+
+    private void resolveBanWave(CommandSender sender, String reason, int days, List<String> targets) {
+        nameCache.resolveAll(targets, profiles -> getServer().getScheduler().runTask(this,
+                () -> commitBanWave(sender, reason, days, targets, profiles)));
+    }
+
+    private void commitBanWave(CommandSender sender, String reason, int days, List<String> targets,
+                               Map<String, PlayerNameCache.Profile> profiles) {
+        Map<UUID, String> resolved = new LinkedHashMap<>();
+        List<String> invalid = new ArrayList<>();
+        for (String target : targets) {
+            Player online = Bukkit.getPlayerExact(target);
+            PlayerNameCache.Profile profile = profiles.get(target);
+            BanEntry existing = online != null || profile != null ? null : banIndex.findByName(target);
+            UUID uuid = online != null ? online.getUniqueId() : profile != null ? profile.uuid()
+                    : existing != null ? existing.uuid() : null;
+            if (uuid == null) {
+                invalid.add(target);
+                continue;
+            }
+            if (existing == null) existing = banIndex.find(uuid);
+            String name = online != null ? online.getName() : profile != null && profile.name() != null ? profile.name()
+                    : existing != null ? existing.name() : null;
+            resolved.merge(uuid, name == null ? "" : name, (a, b) -> a.isEmpty() ? b : a);
+        }
+        if (!invalid.isEmpty()) {
+            sendMessage(sender, Message.BANWAVE_INVALID, invalid.size(),
+                    String.join(", ", invalid.subList(0, Math.min(invalid.size(), MAX_COMPLETIONS))));
+            return;
+        }
+        if (resolved.isEmpty()) {
+            sendMessage(sender, Message.BANWAVE_USAGE);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long until = days > 0 ? now + (days * 86_400_000L) : 0;
+        String date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(now));
+        List<BanEntry> entries = new ArrayList<>(resolved.size());
+        resolved.forEach((uuid, name) -> entries.add(
+                new BanEntry(uuid, name.isEmpty() ? null : name, reason, sender.getName(), date, until)));
+        banIndex.putAll(entries);
+        banStore.saveAll(entries);
+        if (auditLog != null) auditLog.recordAll(AuditLog.Action.BAN, entries, now);
+
+        ArrayDeque<BanEntry> kicks = new ArrayDeque<>();
+        for (BanEntry ban : entries) {
+            if (Bukkit.getPlayer(ban.uuid()) != null) kicks.add(ban);
+        }
+        int online = kicks.size();
+        int kicksPerTick = Math.max(1, getConfig().getInt("banwave.kicks-per-tick", 5));
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                long time = System.currentTimeMillis();
+                for (int i = 0; i < kicksPerTick && !kicks.isEmpty(); i++) {
+                    BanEntry ban = kicks.poll();
+                    Player player = Bukkit.getPlayer(ban.uuid());
+                    if (player != null) player.kickPlayer(ban.kickMessage(messages, time));
+                }
+                if (kicks.isEmpty()) cancel();
+            }
+        }.runTaskTimer(this, 1L, 1L);
+
+        getLogger().info(sender.getName() + " banned " + entries.size() + " players in a ban wave: " + reason);
+        sendMessage(sender, Message.BANWAVE_DONE, entries.size(), online);
+        messages.broadcast(Message.BANWAVE_BROADCAST, entries.size(), reason, durationArgument(days), sender.getName());
+    }
+
+    private static int quotedArgument(String[] args, int from, StringBuilder out) {
+        if (from >= args.length) return -1;
+        if (!args[from].startsWith("\"")) {
+            out.append(args[from]);
+            return from + 1;
+        }
+        for (int i = from; i < args.length; i++) {
+            if (i > from) out.append(' ');
+            out.append(args[i]);
+            if (args[i].endsWith("\"") && (i > from || args[i].length() > 1)) {
+                out.deleteCharAt(0).deleteCharAt(out.length() - 1);
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean handleBanIpCommand(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.BAN_IP)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+        if (args.length < 4) {
+            sendMessage(sender, Message.BANIP_USAGE);
+            return true;
+        }
+
+        IpRange range = IpRange.parse(args[1]);
+        if (range == null) {
+            Player target = Bukkit.getPlayerExact(args[1]);
+            if (target == null || target.getAddress() == null || target.getAddress().getAddress() == null) {
+                sendMessage(sender, Message.BANIP_INVALID_TARGET);
+                return true;
+            }
+            range = IpRange.of(target.getAddress().getAddress());
+        }
+
+        int days;
+        try {
+            days = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            sendMessage(sender, Message.BAN_INVALID_DAYS);
+            return true;
+        }
+
+        String reason = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+        long now = System.currentTimeMillis();
+        long until = days > 0 ? now + (days * 86_400_000L) : 0;
+        String date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+        IpBan ban = new IpBan(range, reason, sender.getName(), date, until);
+        ipBanIndex.put(ban);
+        banStore.saveIpBan(ban);
+        if (auditLog != null) auditLog.recordIp(AuditLog.Action.BAN, ban, sender.getName(), now);
+
+        int kicked = 0;
+        for (Player player : new ArrayList<>(Bukkit.getOnlinePlayers())) {
+            if (player.getAddress() == null || player.getAddress().getAddress() == null) continue;
+            IpRange address = IpRange.of(player.getAddress().getAddress());
+            if (range.contains(address.high(), address.low())) {
+                player.kickPlayer(ban.kickMessage(messages, now));
+                kicked++;
+            }
+        }
 
+        messages.broadcast(Message.BANIP_BROADCAST, range, reason, durationArgument(days), sender.getName());
+        if (kicked > 0) sendMessage(sender, Message.BANIP_KICKED, kicked);
         return true;
     }
 
     private boolean handleUnbanCommand(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.UNBAN)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
         if (args.length < 2) {
-            sendMessage(sender, "§c用法: /mp unban <玩家名/UUID>");
+            sendMessage(sender, Message.UNBAN_USAGE);
+            return true;
+        }
+
+        IpRange range = IpRange.parse(args[1]);
+        if (range != null) {
+            if (!hasPermission(sender, PermissionNode.BAN_IP)) {
+                sendMessage(sender, Message.NO_PERMISSION);
+                return true;
+            }
+            IpBan removed = ipBanIndex.remove(range);
+            if (removed == null) {
+                sendMessage(sender, Message.UNBAN_IP_NOT_FOUND);
+                return true;
+            }
+            banStore.deleteIpBans(List.of(range));
+            if (auditLog != null) auditLog.recordIp(AuditLog.Action.UNBAN, removed, sender.getName(), System.currentTimeMillis());
+            sendMessage(sender, Message.UNBAN_IP_DONE, range);
             return true;
         }
 
         UUID targetUuid = findBannedPlayer(args[1]);
         if (targetUuid == null) {
-            sendMessage(sender, "§c未找到该玩家的封禁记录！");
+            sendMessage(sender, Message.UNBAN_NOT_FOUND);
             return true;
         }
 
-        String playerName = Bukkit.getOfflinePlayer(targetUuid).getName();
-        bansConfig.set("bans." + targetUuid, null);
-        saveBansConfig();
+        BanEntry removed = banIndex.remove(targetUuid);
+        String playerName = removed != null ? removed.name() : null;
+        banStore.delete(targetUuid);
+        if (removed != null && auditLog != null) {
+            auditLog.record(AuditLog.Action.UNBAN, removed, sender.getName(), System.currentTimeMillis());
+        }
 
-        sendMessage(sender, "§a已解除 §e" + (playerName != null ? playerName : targetUuid.toString()) + " §a的封禁");
+        sendMessage(sender, Message.UNBAN_DONE, playerName != null ? playerName : targetUuid.toString());
         return true;
     }
 
-    private boolean showBanList(CommandSender sender) {
-        ConfigurationSection bansSection = bansConfig.getConfigurationSection("bans");
-        if (bansSection == null || bansSection.getKeys(false).isEmpty()) {
-            sendMessage(sender, "§a当前没有封禁记录");
+    private boolean showBanList(CommandSender sender, String[] args) {
+        if (args.length >= 2 && (args[1].equalsIgnoreCase("import") || args[1].equalsIgnoreCase("export"))) {
+            return handleBanTransfer(sender, args);
+        }
+        int page = 1;
+        BanListView.Sort sort = BanListView.Sort.DATE;
+        List<String> filterWords = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            BanListView.Sort parsedSort = BanListView.Sort.fromKey(args[i]);
+            if (parsedSort != null) {
+                sort = parsedSort;
+                continue;
+            }
+            if (filterWords.isEmpty()) {
+                try {
+                    page = Math.max(1, Integer.parseInt(args[i]));
+                    continue;
+                } catch (NumberFormatException ignored) {}
+            }
+            filterWords.add(args[i]);
+        }
+        String filter = String.join(" ", filterWords);
+
+        BanEntry[] bans = banListView.view(sort, filter);
+        if (bans.length == 0) {
+            if (filter.isEmpty()) sendMessage(sender, Message.BANS_EMPTY);
+            else sendMessage(sender, Message.BANS_NO_MATCH, filter);
             return true;
         }
 
-        sender.sendMessage("§8§m----------------§6 封禁列表 §8§m----------------");
-        for (String uuidStr : bansSection.getKeys(false)) {
-            UUID uuid = UUID.fromString(uuidStr);
-            OfflinePlayer op = Bukkit.getOfflinePlayer(uuid);
-            String name = op.getName() != null ? op.getName() : "未知玩家";
+        int pages = (bans.length + BANS_PER_PAGE - 1) / BANS_PER_PAGE;
+        page = Math.min(page, pages);
+        int from = (page - 1) * BANS_PER_PAGE;
+        int to = Math.min(from + BANS_PER_PAGE, bans.length);
+
+        Messages.Template entry = messages.get(sender, Message.BANS_ENTRY);
+        String separator = messages.render(sender, Message.BANS_SEPARATOR);
+        String unknownPlayer = messages.render(sender, Message.BANS_UNKNOWN_PLAYER);
+        String permanent = messages.render(sender, Message.BANS_STATUS_PERMANENT);
+        sender.sendMessage(messages.render(sender, Message.BANS_HEADER));
+        long now = System.currentTimeMillis();
+        for (int i = from; i < to; i++) {
+            BanEntry ban = bans[i];
+            String status = !ban.isPermanent() ?
+                    messages.render(sender, Message.BANS_STATUS_TEMPORARY, messages.timeLeft(sender, ban.until(), now)) :
+                    permanent;
+
+            sender.sendMessage(entry.render(
+                    ban.name() != null ? ban.name() : unknownPlayer,
+                    ban.uuid().toString().substring(0, 8),
+                    ban.reason(),
+                    ban.operator(),
+                    ban.date(),
+                    status
+            ));
+            sender.sendMessage(separator);
+        }
+        sender.sendMessage(messages.render(sender, Message.BANS_FOOTER, page, pages, bans.length, sort.key()));
+        if (page < pages) {
+            sender.sendMessage(messages.render(sender, Message.BANS_NEXT_PAGE,
+                    "/mp bans " + (page + 1) + " " + sort.key() + (filter.isEmpty() ? "" : " " + filter)));
+        }
+        return true;
+    }
 
-            long until = bansConfig.getLong("bans." + uuidStr + ".until", 0);
-            String timeLeft = until > 0 ?
-                    formatTimeLeft(until) + "后解封" :
-                    "永久封禁";
+    private boolean showStats(CommandSender sender) {
+        if (!hasPermission(sender, PermissionNode.STATS)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
 
-            sender.sendMessage(String.format(
-                    "§c%s §8(§7%s§8)\n§7原因: §f%s\n§7操作者: §f%s\n§7封禁时间: §f%s\n§7状态: §f%s",
-                    name,
-                    uuidStr.substring(0, 8),
-                    bansConfig.getString("bans." + uuidStr + ".reason"),
-                    bansConfig.getString("bans." + uuidStr + ".operator"),
-                    bansConfig.getString("bans." + uuidStr + ".date"),
-                    timeLeft
-            ));
-            sender.sendMessage("§8§m----------------------------------------");
+        sender.sendMessage(messages.render(sender, Message.STATS_HEADER));
+        for (Metrics.Timer timer : metrics.timers()) {
+            if (timer.count() == 0) continue;
+            sender.sendMessage(messages.render(sender, Message.STATS_TIMER, timer.name(), timer.count(),
+                    millis(timer.averageMillis()), millis(timer.quantileMillis(0.99)), millis(timer.maxMillis())));
         }
+        Messages.Template value = messages.get(sender, Message.STATS_VALUE);
+        metrics.counterValues().forEach((name, count) -> sender.sendMessage(value.render(name, count)));
+        metrics.gaugeValues().forEach((name, count) -> sender.sendMessage(value.render(name, count)));
+        sender.sendMessage(messages.render(sender, Message.STATS_WRITER,
+                dataWriter.completedWrites(), dataWriter.coalescedMarks(), dataWriter.failedWrites(),
+                String.format("%.1f", dataWriter.lastWriteMillis()), String.format("%.1f", dataWriter.maxWriteMillis())));
+        sender.sendMessage(messages.render(sender, Message.STATS_TELEPORT,
+                teleportScheduler.completed(), teleportScheduler.dropped(), teleportScheduler.chunksLoaded(),
+                String.format("%.1f", teleportScheduler.averageWaitTicks()), teleportScheduler.maxQueueDepth()));
         return true;
     }
 
+    private boolean refreshPermissions(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.REFRESH_PERMS)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+        if (args.length < 2) {
+            sendMessage(sender, Message.PERMS_REFRESHED_ALL, refreshAllPermissions());
+            return true;
+        }
+
+        Player target = Bukkit.getPlayerExact(args[1]);
+        if (target == null) {
+            sendMessage(sender, Message.PERMS_PLAYER_OFFLINE, args[1]);
+            return true;
+        }
+        permissionCache.refresh(target);
+        rateLimiter.assign(target);
+        sendMessage(sender, Message.PERMS_REFRESHED, target.getName());
+        return true;
+    }
+
+    private int refreshAllPermissions() {
+        Collection<? extends Player> players = getServer().getOnlinePlayers();
+        for (Player player : players) rateLimiter.assign(player);
+        return permissionCache.refreshAll(players);
+    }
+
+    private boolean rateLimited(Player player, RateLimiter.Action action) {
+        if (hasPermission(player, PermissionNode.RATE_LIMIT_BYPASS)) return false;
+        long wait = rateLimiter.acquire(player, action, System.currentTimeMillis(), teleportScheduler.currentTick());
+        if (wait == 0) return false;
+        if (wait == RateLimiter.BUSY) {
+            rateLimitBusy.increment();
+            sendMessage(player, Message.RATE_LIMIT_BUSY);
+        } else {
+            rateLimited.increment();
+            sendMessage(player, Message.RATE_LIMIT_WAIT, (wait + 999) / 1000);
+        }
+        return true;
+    }
+
+    private boolean showHistory(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.HISTORY)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+        if (args.length < 2) {
+            sendMessage(sender, Message.HISTORY_USAGE);
+            return true;
+        }
+        if (auditLog == null) {
+            sendMessage(sender, Message.HISTORY_DISABLED);
+            return true;
+        }
+
+        IpRange range = IpRange.parse(args[1]);
+        UUID uuid = range != null ? range.auditKey() : findPlayerId(args[1]);
+        if (uuid == null) {
+            sendMessage(sender, Message.HISTORY_NOT_FOUND);
+            return true;
+        }
+
+        String input = args[1];
+        auditLog.history(uuid, HISTORY_LIMIT, history -> getServer().getScheduler().runTask(this, () -> {
+            if (history.total() == 0) {
+                sendMessage(sender, Message.HISTORY_EMPTY, input);
+                return;
+            }
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+            String name = history.entries().get(0).name();
+            sender.sendMessage(messages.render(sender, Message.HISTORY_HEADER));
+            sender.sendMessage(messages.render(sender, Message.HISTORY_SUMMARY, name != null ? name : uuid.toString(), history.total()));
+            for (AuditLog.Entry entry : history.entries()) {
+                String time = format.format(new Date(entry.time()));
+                switch (entry.action()) {
+                    case BAN -> sender.sendMessage(messages.render(sender, Message.HISTORY_BAN, time,
+                            entry.until() > 0
+                                    ? messages.render(sender, Message.HISTORY_UNTIL, format.format(new Date(entry.until())))
+                                    : messages.render(sender, Message.DURATION_PERMANENT),
+                            entry.reason(), entry.operator()));
+                    case UNBAN -> sender.sendMessage(messages.render(sender, Message.HISTORY_UNBAN, time, entry.reason(), entry.operator()));
+                    case EXPIRE -> sender.sendMessage(messages.render(sender, Message.HISTORY_EXPIRE, time, entry.reason()));
+                }
+            }
+            if (history.total() > history.entries().size()) {
+                sender.sendMessage(messages.render(sender, Message.HISTORY_TRUNCATED, history.entries().size()));
+            }
+        }));
+        return true;
+    }
+
+    private UUID findPlayerId(String input) {
+        try {
+            return UUID.fromString(input);
+        } catch (IllegalArgumentException ignored) {}
+
+        Player online = Bukkit.getPlayerExact(input);
+        if (online != null) return online.getUniqueId();
+        BanEntry ban = banIndex.findByName(input);
+        if (ban != null) return ban.uuid();
+        PlayerNameCache.Profile profile = nameCache.find(input, System.currentTimeMillis());
+        return profile != null ? profile.uuid() : null;
+    }
+
+    private boolean handleBanTransfer(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.BANS_TRANSFER)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+        boolean importing = args[1].equalsIgnoreCase("import");
+        if (args.length < 3) {
+            sendMessage(sender, Message.TRANSFER_USAGE, importing ? "import" : "export");
+            return true;
+        }
+
+        File file = resolveServerFile(sender, String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+        if (file == null) return true;
+        BanTransfer.Format format = BanTransfer.Format.of(file);
+        if (format == null) {
+            sendMessage(sender, Message.TRANSFER_UNSUPPORTED);
+            return true;
+        }
+        if (importing && !file.isFile()) {
+            sendMessage(sender, Message.TRANSFER_MISSING, file.getName());
+            return true;
+        }
+        if (!importing && file.exists()) {
+            sendMessage(sender, Message.TRANSFER_EXISTS, file.getName());
+            return true;
+        }
+        if (!banTransferRunning.compareAndSet(false, true)) {
+            sendMessage(sender, Message.TRANSFER_BUSY);
+            return true;
+        }
+
+        sendMessage(sender, importing ? Message.IMPORT_STARTED : Message.EXPORT_STARTED, file.getName());
+        getServer().getScheduler().runTaskAsynchronously(this, () -> {
+            try {
+                if (importing) importBans(sender, file, format);
+                else exportBans(sender, file, format);
+            } catch (IOException | RuntimeException e) {
+                getLogger().severe("Failed to " + (importing ? "import" : "export") + " bans: " + e.getMessage());
+                sendMessageSync(sender, importing ? Message.IMPORT_FAILED : Message.EXPORT_FAILED, e.getMessage());
+            } finally {
+                banTransferRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    private File resolveServerFile(CommandSender sender, String path) {
+        File root = new File("").getAbsoluteFile();
+        File file = new File(root, path);
+        try {
+            if (!file.getCanonicalPath().startsWith(root.getCanonicalPath() + File.separator)) {
+                sendMessage(sender, Message.TRANSFER_OUTSIDE);
+                return null;
+            }
+        } catch (IOException e) {
+            sendMessage(sender, Message.TRANSFER_INVALID_PATH);
+            return null;
+        }
+        return file;
+    }
+
+    private void importBans(CommandSender sender, File file, BanTransfer.Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        BanTransfer.Result result = BanTransfer.read(file, format, start, chunk -> {
+            banIndex.putAll(chunk);
+            banStore.saveAll(chunk);
+            if (auditLog != null) auditLog.recordAll(AuditLog.Action.BAN, chunk, start);
+        }, count -> sendMessageSync(sender, Message.IMPORT_PROGRESS, count));
+        getLogger().info("Imported " + result.imported() + " bans from " + file.getName() + ", skipped " + result.skipped());
+        sendMessageSync(sender, Message.IMPORT_DONE, result.imported(), result.skipped(), System.currentTimeMillis() - start);
+        getServer().getScheduler().runTask(this, () -> {
+            long now = System.currentTimeMillis();
+            for (Player player : new ArrayList<>(getServer().getOnlinePlayers())) {
+                BanEntry ban = banIndex.find(player.getUniqueId());
+                if (ban != null && !ban.isExpired(now)) player.kickPlayer(ban.kickMessage(messages, now));
+            }
+        });
+    }
+
+    private void exportBans(CommandSender sender, File file, BanTransfer.Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        int count = BanTransfer.write(file, format, banIndex.entries(),
+                written -> sendMessageSync(sender, Message.EXPORT_PROGRESS, written));
+        getLogger().info("Exported " + count + " bans to " + file.getName());
+        sendMessageSync(sender, Message.EXPORT_DONE, count, file.getName(), System.currentTimeMillis() - start);
+    }
+
+    private void sendMessageSync(CommandSender sender, Message message, Object... args) {
+        getServer().getScheduler().runTask(this, () -> sendMessage(sender, message, args));
+    }
+
     private boolean handleSpawnCommand(CommandSender sender) {
         if (!(sender instanceof Player player)) {
-            sendMessage(sender, "只有玩家才能使用这个命令！");
+            sendMessage(sender, Message.PLAYERS_ONLY);
             return true;
         }
 
-        if (!hasPermission(sender, PERM_SPAWN)) {
-            sendMessage(sender, "§c你没有使用此命令的权限！");
+        if (!hasPermission(sender, PermissionNode.SPAWN)) {
+            sendMessage(sender, Message.NO_PERMISSION);
             return true;
         }
+        if (rateLimited(player, RateLimiter.Action.SPAWN)) return true;
 
-        String worldName = player.getWorld().getName();
-        if (spawnConfig.contains("world-spawns." + worldName)) {
-            Map<String, Object> serialized = (Map<String, Object>) spawnConfig.get("world-spawns." + worldName);
-            World world = Bukkit.getWorld((String) serialized.get("world"));
-            if (world != null) {
-                Location spawn = new Location(
-                        world,
-                        (double) serialized.get("x"),
-                        (double) serialized.get("y"),
-                        (double) serialized.get("z"),
-                        ((Double) serialized.get("yaw")).floatValue(),
-                        ((Double) serialized.get("pitch")).floatValue()
-                );
-                player.teleport(spawn);
-                sendMessage(player, "已传送至当前世界重生点");
-                return true;
-            }
+        Location spawn = spawnRegistry.worldSpawn(player.getWorld().getName());
+        if (spawn != null) {
+            teleport(player, spawn, p -> sendMessage(p, Message.SPAWN_TELEPORTED));
+            return true;
         }
 
         Location spawnLoc = player.getWorld().getSpawnLocation();
-        player.teleport(spawnLoc);
-        sendMessage(player, "已传送至当前世界默认重生点");
+        teleport(player, spawnLoc, p -> sendMessage(p, Message.SPAWN_DEFAULT_TELEPORTED));
         return true;
     }
 
     private boolean handleSetFirstSpawnCommand(CommandSender sender) {
         if (!(sender instanceof Player player)) {
-            sendMessage(sender, "只有玩家才能使用这个命令！");
+            sendMessage(sender, Message.PLAYERS_ONLY);
             return true;
         }
 
-        if (!hasPermission(sender, PERM_SET_FIRST_SPAWN)) {
-            sendMessage(sender, "§c你没有使用此命令的权限！");
+        if (!hasPermission(sender, PermissionNode.SET_FIRST_SPAWN)) {
+            sendMessage(sender, Message.NO_PERMISSION);
             return true;
         }
 
-        spawnConfig.set("first-spawn", serializeLocation(player.getLocation()));
+        spawnConfig.set("first-spawn", spawnRegistry.setFirstSpawn(player.getLocation()).serialize());
+        teleportScheduler.unpin();
         saveSpawnConfig();
-        sendMessage(player, "已设置服务器首次加入位置");
+        sendMessage(player, Message.FIRST_SPAWN_SET);
         return true;
     }
 
     private boolean handleSetWorldSpawnCommand(CommandSender sender) {
         if (!(sender instanceof Player player)) {
-            sendMessage(sender, "只有玩家才能使用这个命令！");
+            sendMessage(sender, Message.PLAYERS_ONLY);
             return true;
         }
 
-        if (!hasPermission(sender, PERM_SET_WORLD_SPAWN)) {
-            sendMessage(sender, "§c你没有使用此命令的权限！");
+        if (!hasPermission(sender, PermissionNode.SET_WORLD_SPAWN)) {
+            sendMessage(sender, Message.NO_PERMISSION);
             return true;
         }
 
-        String worldName = player.getWorld().getName();
-        spawnConfig.set("world-spawns." + worldName, serializeLocation(player.getLocation()));
+        SpawnRegistry.SpawnPoint point = spawnRegistry.setWorldSpawn(player.getLocation());
+        spawnConfig.set("world-spawns." + point.world(), point.serialize());
         saveSpawnConfig();
         player.getWorld().setSpawnLocation(player.getLocation());
-        sendMessage(player, "已设置当前世界重生点");
+        sendMessage(player, Message.WORLD_SPAWN_SET);
         return true;
     }
 
-    private UUID findBannedPlayer(String input) {
-        ConfigurationSection bansSection = bansConfig.getConfigurationSection("bans");
-        if (bansSection == null) return null;
+    private boolean handleWarpCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, Message.PLAYERS_ONLY);
+            return true;
+        }
 
-        try {
-            UUID uuid = UUID.fromString(input);
-            if (bansSection.contains(uuid.toString())) {
-                return uuid;
+        if (!hasPermission(sender, PermissionNode.WARP)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        if (args.length < 2) {
+            if (warpRegistry.size() == 0) {
+                sendMessage(player, Message.WARP_NONE);
+                return true;
             }
-        } catch (IllegalArgumentException ignored) {}
+            StringJoiner names = new StringJoiner(", ");
+            for (WarpRegistry.Warp warp : warpRegistry.all()) names.add(warp.name());
+            sendMessage(player, Message.WARP_LIST, warpRegistry.size(), names.toString());
+            return true;
+        }
+
+        WarpRegistry.Warp warp;
+        switch (args[1].toLowerCase()) {
+            case "near" -> {
+                return showNearbyWarps(player, args);
+            }
+            case "nearest" -> {
+                warp = warpRegistry.nearest(player.getLocation());
+                if (warp == null) {
+                    sendMessage(player, Message.WARP_NONE_IN_WORLD);
+                    return true;
+                }
+            }
+            default -> {
+                warp = warpRegistry.get(args[1]);
+                if (warp == null) {
+                    sendMessage(player, Message.WARP_NOT_FOUND, args[1]);
+                    return true;
+                }
+            }
+        }
+
+        Location destination = warpRegistry.location(warp);
+        if (destination == null) {
+            sendMessage(player, Message.LOCATION_WORLD_MISSING);
+            return true;
+        }
+        if (rateLimited(player, RateLimiter.Action.WARP)) return true;
+        String name = warp.name();
+        teleport(player, destination, p -> sendMessage(p, Message.WARP_TELEPORTED, name));
+        return true;
+    }
 
-        for (String uuidStr : bansSection.getKeys(false)) {
-            OfflinePlayer op = Bukkit.getOfflinePlayer(UUID.fromString(uuidStr));
-            if (op.getName() != null && op.getName().equalsIgnoreCase(input)) {
-                return op.getUniqueId();
+    private boolean showNearbyWarps(Player player, String[] args) {
+        double radius = getConfig().getDouble("warps.near-radius", 256);
+        if (args.length > 2) {
+            try {
+                radius = Double.parseDouble(args[2]);
+            } catch (NumberFormatException e) {
+                sendMessage(player, Message.WARP_USAGE);
+                return true;
             }
         }
-        return null;
+        if (radius <= 0) {
+            sendMessage(player, Message.WARP_USAGE);
+            return true;
+        }
+
+        Location location = player.getLocation();
+        List<WarpRegistry.Warp> nearby = warpRegistry.within(location, radius, NEARBY_WARP_LIMIT);
+        String radiusText = String.format("%.0f", radius);
+        if (nearby.isEmpty()) {
+            sendMessage(player, Message.WARP_NONE_NEARBY, radiusText);
+            return true;
+        }
+        sendMessage(player, Message.WARP_NEARBY_HEADER, radiusText);
+        Messages.Template entry = messages.get(player, Message.WARP_NEARBY_ENTRY);
+        for (WarpRegistry.Warp warp : nearby) {
+            double dx = warp.point().x() - location.getX();
+            double dz = warp.point().z() - location.getZ();
+            player.sendMessage(entry.render(warp.name(), String.format("%.0f", Math.sqrt(dx * dx + dz * dz))));
+        }
+        return true;
+    }
+
+    private boolean handleSetWarpCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, Message.PLAYERS_ONLY);
+            return true;
+        }
+
+        if (!hasPermission(sender, PermissionNode.SET_WARP)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        if (args.length < 2) {
+            sendMessage(player, Message.SETWARP_USAGE);
+            return true;
+        }
+        if (!WarpRegistry.isValidName(args[1]) || WARP_KEYWORDS.contains(args[1].toLowerCase())) {
+            sendMessage(player, Message.INVALID_LOCATION_NAME);
+            return true;
+        }
+
+        WarpRegistry.Warp warp = warpRegistry.set(args[1], player.getLocation());
+        sendMessage(player, Message.WARP_SET, warp.name());
+        return true;
+    }
+
+    private boolean handleDelWarpCommand(CommandSender sender, String[] args) {
+        if (!hasPermission(sender, PermissionNode.SET_WARP)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        if (args.length < 2) {
+            sendMessage(sender, Message.DELWARP_USAGE);
+            return true;
+        }
+
+        WarpRegistry.Warp warp = warpRegistry.get(args[1]);
+        if (warp == null || !warpRegistry.remove(warp.name())) {
+            sendMessage(sender, Message.WARP_NOT_FOUND, args[1]);
+            return true;
+        }
+        sendMessage(sender, Message.WARP_DELETED, warp.name());
+        return true;
     }
 
-    private boolean validateRequestTimeout(UUID targetId) {
-        Long requestTime = requestTimestamps.get(targetId);
-        return requestTime != null && System.currentTimeMillis() - requestTime <= REQUEST_TIMEOUT;
+    private boolean handleHomeCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, Message.PLAYERS_ONLY);
+            return true;
+        }
+
+        if (!hasPermission(sender, PermissionNode.HOME)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        UUID playerId = player.getUniqueId();
+        homeRegistry.load(playerId);
+        Map<String, SpawnRegistry.SpawnPoint> homes = homeRegistry.homes(playerId);
+        if (homes.isEmpty()) {
+            sendMessage(player, Message.HOME_NONE);
+            return true;
+        }
+
+        String name;
+        if (args.length > 1) {
+            name = args[1].toLowerCase();
+        } else if (homes.size() == 1) {
+            name = homes.keySet().iterator().next();
+        } else if (homes.containsKey(DEFAULT_HOME)) {
+            name = DEFAULT_HOME;
+        } else {
+            sendMessage(player, Message.HOME_LIST, homes.size(), maxHomes(), String.join(", ", homes.keySet()));
+            return true;
+        }
+
+        SpawnRegistry.SpawnPoint point = homes.get(name);
+        if (point == null) {
+            sendMessage(player, Message.HOME_NOT_FOUND, name);
+            sendMessage(player, Message.HOME_LIST, homes.size(), maxHomes(), String.join(", ", homes.keySet()));
+            return true;
+        }
+        Location destination = point.toLocation();
+        if (destination == null) {
+            sendMessage(player, Message.LOCATION_WORLD_MISSING);
+            return true;
+        }
+        if (rateLimited(player, RateLimiter.Action.HOME)) return true;
+        String home = name;
+        teleport(player, destination, p -> sendMessage(p, Message.HOME_TELEPORTED, home));
+        return true;
     }
 
-    private void cleanRequest(UUID targetId) {
-        teleportRequests.remove(targetId);
-        requestTimestamps.remove(targetId);
+    private boolean handleSetHomeCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, Message.PLAYERS_ONLY);
+            return true;
+        }
+
+        if (!hasPermission(sender, PermissionNode.SET_HOME)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        String name = args.length > 1 ? args[1].toLowerCase() : DEFAULT_HOME;
+        if (!WarpRegistry.isValidName(name)) {
+            sendMessage(player, Message.INVALID_LOCATION_NAME);
+            return true;
+        }
+
+        int max = maxHomes();
+        HomeRegistry.Result result = homeRegistry.set(player.getUniqueId(), name,
+                SpawnRegistry.SpawnPoint.of(player.getLocation()), max);
+        if (result == HomeRegistry.Result.LIMIT) {
+            sendMessage(player, Message.HOME_LIMIT, max);
+            return true;
+        }
+        sendMessage(player, Message.HOME_SET, name);
+        return true;
     }
 
-    private String formatTimeLeft(long until) {
-        long left = (until - System.currentTimeMillis()) / 1000;
-        long days = left / 86_400;
-        long hours = (left % 86_400) / 3_600;
-        return String.format("%d天%d小时", days, hours);
+    private boolean handleDelHomeCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, Message.PLAYERS_ONLY);
+            return true;
+        }
+
+        if (!hasPermission(sender, PermissionNode.SET_HOME)) {
+            sendMessage(sender, Message.NO_PERMISSION);
+            return true;
+        }
+
+        if (args.length < 2) {
+            sendMessage(player, Message.DELHOME_USAGE);
+            return true;
+        }
+
+        homeRegistry.load(player.getUniqueId());
+        if (!homeRegistry.remove(player.getUniqueId(), args[1])) {
+            sendMessage(player, Message.HOME_NOT_FOUND, args[1].toLowerCase());
+            return true;
+        }
+        sendMessage(player, Message.HOME_DELETED, args[1].toLowerCase());
+        return true;
     }
 
-    private Map<String, Object> serializeLocation(Location location) {
-        Map<String, Object> serialized = new HashMap<>();
-        serialized.put("world", location.getWorld().getName());
-        serialized.put("x", location.getX());
-        serialized.put("y", location.getY());
-        serialized.put("z", location.getZ());
-        serialized.put("yaw", location.getYaw());
-        serialized.put("pitch", location.getPitch());
-        return serialized;
+    private int maxHomes() {
+        return Math.max(1, getConfig().getInt("homes.max-homes", 3));
     }
 
-    private void saveBansConfig() {
+    private UUID findBannedPlayer(String input) {
         try {
-            bansConfig.save(bansFile);
-        } catch (IOException e) {
-            getLogger().severe("Failed to save ban data: " + e.getMessage());
+            UUID uuid = UUID.fromString(input);
+            if (banIndex.find(uuid) != null) {
+                return uuid;
+            }
+        } catch (IllegalArgumentException ignored) {}
+
+        BanEntry ban = banIndex.findByName(input);
+        return ban != null ? ban.uuid() : null;
+    }
+
+    private void teleport(Player player, Location destination, Consumer<Player> onArrive) {
+        if (!teleportScheduler.schedule(player, destination, onArrive)) {
+            sendMessage(player, Message.TELEPORT_LOADING);
         }
     }
 
+    private void saveDeathHistory() {
+        if (!deathHistory.isDirty()) return;
+        byte[] data = deathHistory.snapshot();
+        dataWriter.markDirtyBytes(deathsFile, () -> data);
+    }
+
     private void saveSpawnConfig() {
-        try {
-            spawnConfig.save(spawnFile);
-        } catch (IOException e) {
-            getLogger().severe("Failed to save spawn data: " + e.getMessage());
-        }
+        String data = spawnConfig.saveToString();
+        dataWriter.markDirty(spawnFile, () -> data);
+    }
+
+    private void sendMessage(CommandSender sender, Message message, Object... args) {
+        messages.send(sender, message, args);
     }
 
-    private void sendMessage(CommandSender sender, String message) {
-        sender.sendMessage(PLUGIN_PREFIX + message);
+    private static String millis(double value) {
+        return String.format("%.3f", value);
+    }
+
+    private String durationArgument(int days) {
+        return days > 0 ? messages.render(Message.DURATION_DAYS, days) : messages.render(Message.DURATION_PERMANENT);
     }
 
     private void showHelp(CommandSender sender) {
-        sender.sendMessage(PLUGIN_PREFIX + "§m━━━━━━━━━━━━━━━━━━━━━━━━");
-        sender.sendMessage(PLUGIN_PREFIX + "§6MixPlugin 命令帮助");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp back §7- 回到死亡位置");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp tpa <玩家> §7- 请求传送");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp tpa accept §7- 接受传送请求");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp tpa deny §7- 拒绝传送请求");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp ban <玩家> <天数(0=永久)> <原因> §7- 封禁玩家");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp unban <玩家> §7- 解封玩家");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp bans §7- 查看封禁列表");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp spawn §7- 回到当前世界重生点");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp setfirstspawn §7- 设置首次加入位置");
-        sender.sendMessage(PLUGIN_PREFIX + "§e/mp setworldspawn §7- 设置当前世界重生点");
-        sender.sendMessage(PLUGIN_PREFIX + "§m━━━━━━━━━━━━━━━━━━━━━━━━");
+        sendMessage(sender, Message.HELP);
     }
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command cmd, String alias, String[] args) {
-        List<String> completions = new ArrayList<>();
-
-        if (cmd.getName().equalsIgnoreCase("mp")) {
-            if (args.length == 1) {
-                completions.addAll(Arrays.asList("back", "tpa", "ban", "unban", "bans", "spawn", "setfirstspawn", "setworldspawn"));
-
-                completions.removeIf(s -> {
-                    switch (s) {
-                        case "back": return !hasPermission(sender, PERM_BACK);
-                        case "tpa": return !hasPermission(sender, PERM_TPA);
-                        case "ban": return !hasPermission(sender, PERM_BAN);
-                        case "unban": return !hasPermission(sender, PERM_UNBAN);
-                        case "bans": return !hasPermission(sender, PERM_BANS);
-                        case "spawn": return !hasPermission(sender, PERM_SPAWN);
-                        case "setfirstspawn": return !hasPermission(sender, PERM_SET_FIRST_SPAWN);
-                        case "setworldspawn": return !hasPermission(sender, PERM_SET_WORLD_SPAWN);
-                        default: return true;
+        if (!cmd.getName().equalsIgnoreCase("mp")) return new ArrayList<>();
+
+        if (args.length == 1) {
+            return new ArrayList<>(subcommandCompletions(sender));
+        }
+
+        String subcommand = args[0].toLowerCase();
+        if (args.length == 2) {
+            String prefix = args[1].toLowerCase();
+            switch (subcommand) {
+                case "tpa":
+                    if (hasPermission(sender, PermissionNode.TPA)) {
+                        List<String> completions = onlinePlayers.complete(prefix, MAX_COMPLETIONS);
+                        if ("accept".startsWith(prefix)) OnlinePlayerIndex.insertSorted(completions, "accept");
+                        if ("deny".startsWith(prefix)) OnlinePlayerIndex.insertSorted(completions, "deny");
+                        return completions;
+                    }
+                    break;
+                case "ban":
+                    if (hasPermission(sender, PermissionNode.BAN)) {
+                        return onlinePlayers.complete(prefix, MAX_COMPLETIONS);
+                    }
+                    break;
+                case "banip":
+                    if (hasPermission(sender, PermissionNode.BAN_IP)) {
+                        return onlinePlayers.complete(prefix, MAX_COMPLETIONS);
                     }
-                });
-            } else if (args.length == 2) {
-                switch (args[0].toLowerCase()) {
-                    case "tpa":
-                        if (hasPermission(sender, PERM_TPA)) {
-                            Bukkit.getOnlinePlayers().stream()
-                                    .map(Player::getName)
-                                    .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
-                                    .forEach(completions::add);
-
-                            if ("accept".startsWith(args[1].toLowerCase())) {
-                                completions.add("accept");
-                            }
-                            if ("deny".startsWith(args[1].toLowerCase())) {
-                                completions.add("deny");
-                            }
+                    break;
+                case "bans":
+                    if (hasPermission(sender, PermissionNode.BANS)) {
+                        List<String> completions = new ArrayList<>();
+                        for (BanListView.Sort sort : BanListView.Sort.values()) {
+                            if (sort.key().startsWith(prefix)) completions.add(sort.key());
                         }
-                        break;
-                    case "ban":
-                        if (hasPermission(sender, PERM_BAN)) {
-                            Bukkit.getOnlinePlayers().stream()
-                                    .map(Player::getName)
-                                    .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
-                                    .forEach(completions::add);
+                        if (hasPermission(sender, PermissionNode.BANS_TRANSFER)) {
+                            if ("export".startsWith(prefix)) completions.add("export");
+                            if ("import".startsWith(prefix)) completions.add("import");
+                            completions.sort(null);
+                        }
+                        return completions;
+                    }
+                    break;
+                case "banwave":
+                    if (hasPermission(sender, PermissionNode.BAN_WAVE)) {
+                        return new ArrayList<>(List.of(messages.render(sender, Message.REASON_HINT)));
+                    }
+                    break;
+                case "unban":
+                    if (hasPermission(sender, PermissionNode.UNBAN)) {
+                        return banIndex.completeNames(prefix, MAX_COMPLETIONS);
+                    }
+                    break;
+                case "refreshperms":
+                    if (hasPermission(sender, PermissionNode.REFRESH_PERMS)) {
+                        return onlinePlayers.complete(prefix, MAX_COMPLETIONS);
+                    }
+                    break;
+                case "history":
+                    if (hasPermission(sender, PermissionNode.HISTORY)) {
+                        return onlinePlayers.complete(prefix, MAX_COMPLETIONS);
+                    }
+                    break;
+                case "warp":
+                    if (hasPermission(sender, PermissionNode.WARP)) {
+                        List<String> completions = warpRegistry.complete(prefix, MAX_COMPLETIONS);
+                        for (String keyword : WARP_KEYWORDS) {
+                            if (keyword.startsWith(prefix)) OnlinePlayerIndex.insertSorted(completions, keyword);
                         }
-                        break;
-                    case "unban":
-                        if (hasPermission(sender, PERM_UNBAN)) {
-                            ConfigurationSection bansSection = bansConfig.getConfigurationSection("bans");
-                            if (bansSection != null) {
-                                bansSection.getKeys(false).forEach(uuid -> {
-                                    OfflinePlayer op = Bukkit.getOfflinePlayer(UUID.fromString(uuid));
-                                    if (op.getName() != null && op.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
-                                        completions.add(op.getName());
-                                    }
-                                });
-                            }
+                        return completions;
+                    }
+                    break;
+                case "delwarp":
+                    if (hasPermission(sender, PermissionNode.SET_WARP)) {
+                        return warpRegistry.complete(prefix, MAX_COMPLETIONS);
+                    }
+                    break;
+                case "home":
+                case "delhome":
+                    if (sender instanceof Player player && hasPermission(sender,
+                            subcommand.equals("home") ? PermissionNode.HOME : PermissionNode.SET_HOME)) {
+                        List<String> completions = new ArrayList<>();
+                        for (String home : homeRegistry.homes(player.getUniqueId()).keySet()) {
+                            if (home.startsWith(prefix)) completions.add(home);
                         }
-                        break;
-                }
-            } else if (args.length == 3) {
-                if (args[0].equalsIgnoreCase("ban") && hasPermission(sender, PERM_BAN)) {
-                    completions.add("0");
-                    completions.add("7");
-                    completions.add("30");
-                } else if (args[0].equalsIgnoreCase("tpa") && args[1].equalsIgnoreCase("accept") &&
-                        hasPermission(sender, PERM_TPA_ACCEPT)) {
+                        return completions;
+                    }
+                    break;
+            }
+        } else if (subcommand.equals("banwave") && hasPermission(sender, PermissionNode.BAN_WAVE)) {
+            // The reason may be quoted and span several arguments, so count positions from where it ends
+            int next = quotedArgument(Arrays.copyOf(args, args.length - 1), 1, new StringBuilder());
+            int position = args.length - 1 - next;
+            if (next < 0 || (position > 1 && args[next + 1].equals("-f"))) return new ArrayList<>();
+            if (position == 0) return new ArrayList<>(BAN_DAY_COMPLETIONS);
+            String prefix = args[args.length - 1];
+            List<String> completions = onlinePlayers.complete(prefix, MAX_COMPLETIONS);
+            if (position == 1 && "-f".startsWith(prefix)) completions.add(0, "-f");
+            return completions;
+        } else if (args.length == 3) {
+            if ((subcommand.equals("ban") && hasPermission(sender, PermissionNode.BAN)) ||
+                    (subcommand.equals("banip") && hasPermission(sender, PermissionNode.BAN_IP))) {
+                return new ArrayList<>(BAN_DAY_COMPLETIONS);
+            } else if (subcommand.equals("tpa") && sender instanceof Player player &&
+                    ((args[1].equalsIgnoreCase("accept") && hasPermission(sender, PermissionNode.TPA_ACCEPT)) ||
+                            (args[1].equalsIgnoreCase("deny") && hasPermission(sender, PermissionNode.TPA_DENY)))) {
+                List<String> completions = new ArrayList<>();
+                for (UUID requesterId : tpaRequests.pendingRequesters(player.getUniqueId())) {
+                    Player requester = Bukkit.getPlayer(requesterId);
+                    if (requester != null && requester.getName().toLowerCase().startsWith(args[2].toLowerCase())) {
+                        completions.add(requester.getName());
+                    }
                 }
-            } else if (args.length == 4 && args[0].equalsIgnoreCase("ban") && hasPermission(sender, PERM_BAN)) {
-                completions.add("<原因>");
+                return completions;
             }
+        } else if (args.length == 4 && ((subcommand.equals("ban") && hasPermission(sender, PermissionNode.BAN)) ||
+                (subcommand.equals("banip") && hasPermission(sender, PermissionNode.BAN_IP)))) {
+            return new ArrayList<>(List.of(messages.render(sender, Message.REASON_HINT)));
         }
+        return new ArrayList<>();
+    }
 
-        Collections.sort(completions);
+    private List<String> subcommandCompletions(CommandSender sender) {
+        int permissions = permissionCache.mask(sender);
+        int mask = 0;
+        for (int i = 0; i < SUBCOMMANDS.length; i++) {
+            if ((permissions & SUBCOMMAND_PERMISSIONS[i].bit()) != 0) mask |= 1 << i;
+        }
+
+        List<String> completions = subcommandCompletions.get(mask);
+        if (completions == null) {
+            List<String> allowed = new ArrayList<>(SUBCOMMANDS.length);
+            for (int i = 0; i < SUBCOMMANDS.length; i++) {
+                if ((mask & (1 << i)) != 0) allowed.add(SUBCOMMANDS[i]);
+            }
+            completions = List.copyOf(allowed);
+            subcommandCompletions.put(mask, completions);
+        }
         return completions;
     }
 
-    private boolean hasPermission(CommandSender sender, String permission) {
-        return sender.hasPermission(permission) || sender.isOp();
+    private boolean hasPermission(CommandSender sender, PermissionNode permission) {
+        return permissionCache.has(sender, permission);
     }
 }
\ No newline at end of file
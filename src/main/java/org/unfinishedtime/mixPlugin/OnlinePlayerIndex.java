@@ -0,0 +1,71 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+final class OnlinePlayerIndex {
+
+    private final TreeMap<String, String> names = new TreeMap<>();
+
+    void rebuild(Collection<? extends Player> players) {
+        names.clear();
+        for (Player player : players) add(player);
+    }
+
+    void add(Player player) {
+        names.put(player.getName().toLowerCase(Locale.ROOT), player.getName());
+    }
+
+    void remove(Player player) {
+        names.remove(player.getName().toLowerCase(Locale.ROOT));
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    List<String> complete(String prefix, int limit) {
+        if (names.isEmpty()) return new ArrayList<>();
+        Collection<String> matches;
+        if (prefix.isEmpty()) {
+            matches = names.values();
+        } else {
+            String from = prefix.toLowerCase(Locale.ROOT);
+            matches = names.subMap(from, true, from + Character.MAX_VALUE, false).values();
+        }
+
+        List<String> result = new ArrayList<>(Math.min(limit, matches.size()) + 2);
+        for (String name : matches) {
+            result.add(name);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    static void insertSorted(List<String> completions, String value) {
+        int index = Collections.binarySearch(completions, value, String.CASE_INSENSITIVE_ORDER);
+        completions.add(index < 0 ? -index - 1 : index, value);
+    }
+}
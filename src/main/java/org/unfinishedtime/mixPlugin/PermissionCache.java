@@ -0,0 +1,73 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+final class PermissionCache {
+
+    private static final PermissionNode[] NODES = PermissionNode.values();
+
+    private final Map<UUID, Integer> masks = new ConcurrentHashMap<>();
+
+    boolean has(CommandSender sender, PermissionNode node) {
+        return (mask(sender) & node.bit()) != 0;
+    }
+
+    int mask(CommandSender sender) {
+        if (!(sender instanceof Player player)) return compute(sender);
+        Integer mask = masks.get(player.getUniqueId());
+        if (mask == null) return refresh(player);
+        return mask;
+    }
+
+    int refresh(Player player) {
+        int mask = compute(player);
+        masks.put(player.getUniqueId(), mask);
+        return mask;
+    }
+
+    int refreshAll(Collection<? extends Player> players) {
+        masks.keySet().retainAll(players.stream().map(Player::getUniqueId).collect(Collectors.toSet()));
+        for (Player player : players) refresh(player);
+        return players.size();
+    }
+
+    void remove(UUID uuid) {
+        masks.remove(uuid);
+    }
+
+    int size() {
+        return masks.size();
+    }
+
+    private static int compute(CommandSender sender) {
+        if (sender.isOp()) return PermissionNode.ALL;
+        int mask = 0;
+        for (PermissionNode node : NODES) {
+            if (sender.hasPermission(node.node())) mask |= node.bit();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+enum PermissionNode {
+    USE(MixPlugin.PERM_USE),
+    BACK(MixPlugin.PERM_BACK),
+    TPA(MixPlugin.PERM_TPA),
+    TPA_ACCEPT(MixPlugin.PERM_TPA_ACCEPT),
+    TPA_DENY(MixPlugin.PERM_TPA_DENY),
+    BAN(MixPlugin.PERM_BAN),
+    BAN_IP(MixPlugin.PERM_BAN_IP),
+    BAN_WAVE(MixPlugin.PERM_BAN_WAVE),
+    UNBAN(MixPlugin.PERM_UNBAN),
+    BANS(MixPlugin.PERM_BANS),
+    BANS_TRANSFER(MixPlugin.PERM_BANS_TRANSFER),
+    HISTORY(MixPlugin.PERM_HISTORY),
+    SPAWN(MixPlugin.PERM_SPAWN),
+    SET_FIRST_SPAWN(MixPlugin.PERM_SET_FIRST_SPAWN),
+    SET_WORLD_SPAWN(MixPlugin.PERM_SET_WORLD_SPAWN),
+    WARP(MixPlugin.PERM_WARP),
+    SET_WARP(MixPlugin.PERM_SET_WARP),
+    HOME(MixPlugin.PERM_HOME),
+    SET_HOME(MixPlugin.PERM_SET_HOME),
+    STATS(MixPlugin.PERM_STATS),
+    REFRESH_PERMS(MixPlugin.PERM_REFRESH_PERMS),
+    RATE_LIMIT_BYPASS(MixPlugin.PERM_RATE_LIMIT_BYPASS);
+
+    static final int ALL = (1 << values().length) - 1;
+
+    private final String node;
+    private final int bit;
+
+    PermissionNode(String node) {
+        this.node = node;
+        this.bit = 1 << ordinal();
+    }
+
+    String node() {
+        return node;
+    }
+
+    int bit() {
+        return bit;
+    }
+}
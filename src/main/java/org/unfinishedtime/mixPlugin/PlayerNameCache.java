@@ -0,0 +1,227 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+final class PlayerNameCache {
+
+    record Profile(UUID uuid, String name) {}
+
+    private record Entry(UUID uuid, String name, long expires) {}
+
+    private static final DateTimeFormatter VANILLA_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z", Locale.ROOT);
+    private static final long VANILLA_EXPIRY = 30L * 86_400_000L;
+
+    private final File userCacheFile;
+    private final long maxAgeMillis;
+    private final int maxEntries;
+    private final Logger logger;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MixPlugin-NameResolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private long userCacheModified;
+
+    PlayerNameCache(File userCacheFile, long maxAgeMillis, int maxEntries, Logger logger) {
+        this.userCacheFile = userCacheFile;
+        this.maxAgeMillis = Math.max(1, maxAgeMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.logger = logger;
+    }
+
+    void start() {
+        executor.execute(this::reloadUserCache);
+    }
+
+    void remember(UUID uuid, String name, long now) {
+        put(new Entry(uuid, name, now + maxAgeMillis), true);
+        if (byId.size() > maxEntries) executor.execute(() -> evict(System.currentTimeMillis()));
+    }
+
+    // A valid UUID always resolves, with a null name if it was never seen
+    Profile find(String input, long now) {
+        UUID uuid = parseUuid(input);
+        if (uuid != null) {
+            Entry entry = byId.get(uuid);
+            return new Profile(uuid, entry != null && entry.expires() > now ? entry.name() : null);
+        }
+        Entry entry = byName.get(input.toLowerCase(Locale.ROOT));
+        return entry != null && entry.expires() > now ? new Profile(entry.uuid(), entry.name()) : null;
+    }
+
+    // The callback runs on the resolver thread and receives null when the input is unknown
+    void resolve(String input, Consumer<Profile> callback) {
+        executor.execute(() -> {
+            long now = System.currentTimeMillis();
+            Profile profile = find(input, now);
+            if ((profile == null || profile.name() == null) && reloadUserCache()) profile = find(input, now);
+            callback.accept(profile);
+        });
+    }
+
+    // Resolves a whole list with at most one usercache.json reload; unknown inputs map to null
+    void resolveAll(List<String> inputs, Consumer<Map<String, Profile>> callback) {
+        executor.execute(() -> {
+            long now = System.currentTimeMillis();
+            Map<String, Profile> profiles = new HashMap<>();
+            boolean missed = false;
+            for (String input : inputs) {
+                Profile profile = find(input, now);
+                profiles.put(input, profile);
+                missed |= profile == null || profile.name() == null;
+            }
+            if (missed && reloadUserCache()) {
+                for (Map.Entry<String, Profile> entry : profiles.entrySet()) {
+                    if (entry.getValue() == null || entry.getValue().name() == null) entry.setValue(find(entry.getKey(), now));
+                }
+            }
+            callback.accept(profiles);
+        });
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A join is always authoritative; usercache.json entries never replace a newer one
+    private synchronized void put(Entry entry, boolean joined) {
+        Entry previous = byId.get(entry.uuid());
+        if (previous != null) {
+            if (!joined && previous.expires() > entry.expires()) return;
+            byName.remove(previous.name().toLowerCase(Locale.ROOT), previous);
+        }
+        byId.put(entry.uuid(), entry);
+        Entry displaced = byName.put(entry.name().toLowerCase(Locale.ROOT), entry);
+        if (displaced != null && !displaced.uuid().equals(entry.uuid())) byId.remove(displaced.uuid(), displaced);
+    }
+
+    private synchronized void evict(long now) {
+        List<Entry> live = new ArrayList<>(byId.size());
+        for (Entry entry : byId.values()) {
+            if (entry.expires() > now) live.add(entry);
+            else remove(entry);
+        }
+        if (live.size() <= maxEntries) return;
+        live.sort(Comparator.comparingLong(Entry::expires));
+        for (int i = 0, excess = live.size() - maxEntries; i < excess; i++) remove(live.get(i));
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.uuid(), entry);
+        byName.remove(entry.name().toLowerCase(Locale.ROOT), entry);
+    }
+
+    private boolean reloadUserCache() {
+        long modified = userCacheFile.lastModified();
+        if (modified == 0 || modified == userCacheModified) return false;
+        userCacheModified = modified;
+
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (Reader in = Files.newBufferedReader(userCacheFile.toPath(), StandardCharsets.UTF_8)) {
+            JsonReader reader = new JsonReader(in);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String name = null, uuid = null, expiresOn = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        continue;
+                    }
+                    switch (key) {
+                        case "name" -> name = reader.nextString();
+                        case "uuid" -> uuid = reader.nextString();
+                        case "expiresOn" -> expiresOn = reader.nextString();
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                UUID id = uuid != null ? parseUuid(uuid) : null;
+                if (id == null || name == null || name.isEmpty()) continue;
+                // usercache.json keeps entries for a month after last use; re-base them on our own max age
+                long expires = lastSeen(expiresOn, now) + maxAgeMillis;
+                if (expires <= now) continue;
+                put(new Entry(id, name, expires), false);
+                loaded++;
+            }
+            reader.endArray();
+        } catch (IOException | IllegalStateException e) {
+            logger.warning("Failed to read " + userCacheFile.getName() + ": " + e.getMessage());
+            return false;
+        }
+        evict(now);
+        logger.fine("Loaded " + loaded + " names from " + userCacheFile.getName());
+        return true;
+    }
+
+    private static long lastSeen(String expiresOn, long now) {
+        if (expiresOn == null) return now;
+        try {
+            return ZonedDateTime.parse(expiresOn, VANILLA_DATE).toInstant().toEpochMilli() - VANILLA_EXPIRY;
+        } catch (DateTimeParseException e) {
+            return now;
+        }
+    }
+
+    private static UUID parseUuid(String input) {
+        if (input.length() != 36) return null;
+        try {
+            return UUID.fromString(input);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+final class RateLimiter {
+
+    enum Action {
+        TPA("tpa", false),
+        BACK("back", true),
+        SPAWN("spawn", true),
+        WARP("warp", true),
+        HOME("home", true);
+
+        private final String key;
+        private final boolean teleports;
+
+        Action(String key, boolean teleports) {
+            this.key = key;
+            this.teleports = teleports;
+        }
+    }
+
+    static final long BUSY = -1;
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final String GROUP_PERMISSION_PREFIX = "mixplugin.ratelimit.";
+
+    private String[] groupNames = {"default"};
+    private long[] intervals = new long[ACTIONS.length];
+    private long[] tolerances = new long[ACTIONS.length];
+    private long[] cooldowns = new long[ACTIONS.length];
+    private int teleportsPerTick = Integer.MAX_VALUE;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Set<UUID> parked = new HashSet<>();
+    private int[] groups = new int[16];
+    private long[] tat = new long[16 * ACTIONS.length];
+    private long[] cooldownUntil = new long[16 * ACTIONS.length];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+
+    private long teleportTick = -1;
+    private int teleportsThisTick;
+
+    void load(ConfigurationSection config) {
+        teleportsPerTick = config != null ? config.getInt("teleports-per-tick", 0) : 0;
+        if (teleportsPerTick <= 0) teleportsPerTick = Integer.MAX_VALUE;
+
+        List<String> names = new ArrayList<>();
+        names.add("default");
+        ConfigurationSection groupSection = config != null ? config.getConfigurationSection("groups") : null;
+        if (groupSection != null) {
+            for (String name : groupSection.getKeys(false)) {
+                if (!name.equals("default")) names.add(name);
+            }
+        }
+
+        long[] newIntervals = new long[names.size() * ACTIONS.length];
+        long[] newTolerances = new long[newIntervals.length];
+        long[] newCooldowns = new long[newIntervals.length];
+        for (int g = 0; g < names.size(); g++) {
+            ConfigurationSection group = groupSection != null ? groupSection.getConfigurationSection(names.get(g)) : null;
+            if (group == null) continue;
+            for (Action action : ACTIONS) {
+                ConfigurationSection limit = group.getConfigurationSection(action.key);
+                if (limit == null) continue;
+                int index = g * ACTIONS.length + action.ordinal();
+                int capacity = Math.max(1, limit.getInt("capacity", 1));
+                long interval = Math.max(0, Math.round(limit.getDouble("refill-seconds", 0) * 1000));
+                newIntervals[index] = interval;
+                newTolerances[index] = interval * (capacity - 1);
+                newCooldowns[index] = Math.max(0, Math.round(limit.getDouble("cooldown-seconds", 0) * 1000));
+            }
+        }
+        groupNames = names.toArray(new String[0]);
+        intervals = newIntervals;
+        tolerances = newTolerances;
+        cooldowns = newCooldowns;
+    }
+
+    void assign(Player player) {
+        int slot = slot(player.getUniqueId());
+        parked.remove(player.getUniqueId());
+        int group = 0;
+        for (int g = 1; g < groupNames.length; g++) {
+            if (player.hasPermission(GROUP_PERMISSION_PREFIX + groupNames[g])) {
+                group = g;
+                break;
+            }
+        }
+        groups[slot] = group;
+    }
+
+    void release(UUID uuid, long now) {
+        Integer slot = slots.get(uuid);
+        if (slot == null) return;
+        if (isIdle(slot, now)) free(uuid, slot);
+        else parked.add(uuid);
+    }
+
+    long acquire(Player player, Action action, long now, long tick) {
+        if (action.teleports && teleportTick == tick && teleportsThisTick >= teleportsPerTick) {
+            return BUSY;
+        }
+
+        Integer slot = slots.get(player.getUniqueId());
+        if (slot == null) {
+            assign(player);
+            slot = slots.get(player.getUniqueId());
+        }
+        int config = groups[slot] * ACTIONS.length + action.ordinal();
+        int state = slot * ACTIONS.length + action.ordinal();
+
+        long wait = cooldownUntil[state] - now;
+        long allowedAt = tat[state] - tolerances[config];
+        if (allowedAt - now > wait) wait = allowedAt - now;
+        if (wait > 0) return wait;
+
+        tat[state] = Math.max(tat[state], now) + intervals[config];
+        cooldownUntil[state] = now + cooldowns[config];
+        if (action.teleports) countTeleport(tick);
+        return 0;
+    }
+
+    boolean acquireTeleport(long tick) {
+        if (teleportTick == tick && teleportsThisTick >= teleportsPerTick) return false;
+        countTeleport(tick);
+        return true;
+    }
+
+    int trackedPlayers() {
+        return slots.size();
+    }
+
+    private void countTeleport(long tick) {
+        if (teleportTick != tick) {
+            teleportTick = tick;
+            teleportsThisTick = 0;
+        }
+        teleportsThisTick++;
+    }
+
+    private int slot(UUID uuid) {
+        Integer existing = slots.get(uuid);
+        if (existing != null) return existing;
+
+        if (freeCount == 0 && nextSlot == groups.length) sweepParked(System.currentTimeMillis());
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (nextSlot == groups.length) grow();
+            slot = nextSlot++;
+        }
+        int base = slot * ACTIONS.length;
+        Arrays.fill(tat, base, base + ACTIONS.length, 0);
+        Arrays.fill(cooldownUntil, base, base + ACTIONS.length, 0);
+        groups[slot] = 0;
+        slots.put(uuid, slot);
+        return slot;
+    }
+
+    private void sweepParked(long now) {
+        for (Iterator<UUID> it = parked.iterator(); it.hasNext(); ) {
+            UUID uuid = it.next();
+            int slot = slots.get(uuid);
+            if (isIdle(slot, now)) {
+                it.remove();
+                free(uuid, slot);
+            }
+        }
+    }
+
+    private boolean isIdle(int slot, long now) {
+        int base = slot * ACTIONS.length;
+        for (int i = base; i < base + ACTIONS.length; i++) {
+            if (tat[i] > now || cooldownUntil[i] > now) return false;
+        }
+        return true;
+    }
+
+    private void free(UUID uuid, int slot) {
+        slots.remove(uuid);
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void grow() {
+        int capacity = groups.length * 2;
+        groups = Arrays.copyOf(groups, capacity);
+        tat = Arrays.copyOf(tat, capacity * ACTIONS.length);
+        cooldownUntil = Arrays.copyOf(cooldownUntil, capacity * ACTIONS.length);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+final class SharedBanStore implements BanStore {
+
+    private final BanStore local;
+    private final BanJournal journal;
+
+    SharedBanStore(BanStore local, BanJournal journal) {
+        this.local = local;
+        this.journal = journal;
+    }
+
+    BanStore local() {
+        return local;
+    }
+
+    BanJournal journal() {
+        return journal;
+    }
+
+    @Override
+    public Collection<BanEntry> loadAll() {
+        return local.loadAll();
+    }
+
+    @Override
+    public void save(BanEntry entry) {
+        local.save(entry);
+        journal.appendPuts(List.of(entry));
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        local.delete(uuid);
+        journal.appendDeletes(List.of(uuid));
+    }
+
+    @Override
+    public void saveAll(Collection<BanEntry> entries) {
+        local.saveAll(entries);
+        journal.appendPuts(entries);
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> uuids) {
+        local.deleteAll(uuids);
+        journal.appendDeletes(uuids);
+    }
+
+    @Override
+    public Collection<IpBan> loadIpBans() {
+        return local.loadIpBans();
+    }
+
+    @Override
+    public void saveIpBan(IpBan ban) {
+        local.saveIpBan(ban);
+        journal.appendIpPut(ban);
+    }
+
+    @Override
+    public void deleteIpBans(Collection<IpRange> ranges) {
+        local.deleteIpBans(ranges);
+        journal.appendIpDeletes(ranges);
+    }
+
+    @Override
+    public void close() {
+        local.close();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class SpawnRegistry {
+
+    record SpawnPoint(String world, double x, double y, double z, float yaw, float pitch) {
+
+        static SpawnPoint of(Location location) {
+            return new SpawnPoint(location.getWorld().getName(),
+                    location.getX(), location.getY(), location.getZ(),
+                    location.getYaw(), location.getPitch());
+        }
+
+        static SpawnPoint parse(Object raw) {
+            Map<?, ?> values;
+            if (raw instanceof ConfigurationSection section) {
+                values = section.getValues(false);
+            } else if (raw instanceof Map<?, ?> map) {
+                values = map;
+            } else {
+                return null;
+            }
+            if (!(values.get("world") instanceof String world)) return null;
+            return new SpawnPoint(world,
+                    number(values.get("x")), number(values.get("y")), number(values.get("z")),
+                    (float) number(values.get("yaw")), (float) number(values.get("pitch")));
+        }
+
+        Map<String, Object> serialize() {
+            Map<String, Object> serialized = new LinkedHashMap<>();
+            serialized.put("world", world);
+            serialized.put("x", x);
+            serialized.put("y", y);
+            serialized.put("z", z);
+            serialized.put("yaw", (double) yaw);
+            serialized.put("pitch", (double) pitch);
+            return serialized;
+        }
+
+        Location toLocation() {
+            World bukkitWorld = Bukkit.getWorld(world);
+            return bukkitWorld != null ? new Location(bukkitWorld, x, y, z, yaw, pitch) : null;
+        }
+
+        private static double number(Object value) {
+            return value instanceof Number number ? number.doubleValue() : 0;
+        }
+    }
+
+    private SpawnPoint firstSpawn;
+    private Map<String, SpawnPoint> worldSpawns = Map.of();
+
+    private boolean firstSpawnResolved;
+    private Location firstSpawnLocation;
+    private final Map<String, Location> worldSpawnLocations = new HashMap<>();
+
+    void load(ConfigurationSection config) {
+        firstSpawn = SpawnPoint.parse(config.get("first-spawn"));
+
+        Map<String, SpawnPoint> spawns = new HashMap<>();
+        ConfigurationSection worldSection = config.getConfigurationSection("world-spawns");
+        if (worldSection != null) {
+            for (String worldName : worldSection.getKeys(false)) {
+                SpawnPoint point = SpawnPoint.parse(worldSection.get(worldName));
+                if (point != null) spawns.put(worldName, point);
+            }
+        }
+        worldSpawns = Map.copyOf(spawns);
+        invalidate();
+    }
+
+    SpawnPoint firstSpawnPoint() {
+        return firstSpawn;
+    }
+
+    Location firstSpawn() {
+        if (!firstSpawnResolved) {
+            firstSpawnLocation = firstSpawn != null ? firstSpawn.toLocation() : null;
+            firstSpawnResolved = true;
+        }
+        return firstSpawnLocation != null ? firstSpawnLocation.clone() : null;
+    }
+
+    Location worldSpawn(String worldName) {
+        Location location = worldSpawnLocations.computeIfAbsent(worldName, name -> {
+            SpawnPoint point = worldSpawns.get(name);
+            return point != null ? point.toLocation() : null;
+        });
+        return location != null ? location.clone() : null;
+    }
+
+    SpawnPoint setFirstSpawn(Location location) {
+        firstSpawn = SpawnPoint.of(location);
+        invalidate();
+        return firstSpawn;
+    }
+
+    SpawnPoint setWorldSpawn(Location location) {
+        SpawnPoint point = SpawnPoint.of(location);
+        Map<String, SpawnPoint> spawns = new HashMap<>(worldSpawns);
+        spawns.put(point.world(), point);
+        worldSpawns = Map.copyOf(spawns);
+        invalidate();
+        return point;
+    }
+
+    void invalidate() {
+        firstSpawnResolved = false;
+        firstSpawnLocation = null;
+        worldSpawnLocations.clear();
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+final class SqliteBanStore implements BanStore {
+
+    private static final String UPSERT =
+            "INSERT OR REPLACE INTO bans (uuid, name, reason, operator, date, until) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM bans WHERE uuid = ?";
+    private static final String UPSERT_IP =
+            "INSERT OR REPLACE INTO ip_bans (range, reason, operator, date, until) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_IP = "DELETE FROM ip_bans WHERE range = ?";
+
+    private final File file;
+    private final Logger logger;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MixPlugin-BanStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Connection connection;
+
+    SqliteBanStore(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    void open() throws SQLException {
+        try {
+            executor.submit(() -> {
+                connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA journal_mode=WAL");
+                    statement.execute("PRAGMA synchronous=NORMAL");
+                    statement.execute("CREATE TABLE IF NOT EXISTS bans (" +
+                            "uuid TEXT PRIMARY KEY NOT NULL, " +
+                            "name TEXT, " +
+                            "reason TEXT NOT NULL, " +
+                            "operator TEXT NOT NULL, " +
+                            "date TEXT, " +
+                            "until INTEGER NOT NULL DEFAULT 0)");
+                    statement.execute("CREATE INDEX IF NOT EXISTS idx_bans_until ON bans (until)");
+                    statement.execute("CREATE TABLE IF NOT EXISTS ip_bans (" +
+                            "range TEXT PRIMARY KEY NOT NULL, " +
+                            "reason TEXT NOT NULL, " +
+                            "operator TEXT NOT NULL, " +
+                            "date TEXT, " +
+                            "until INTEGER NOT NULL DEFAULT 0)");
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while opening " + file.getName(), e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException sql ? sql : new SQLException(e.getCause());
+        }
+    }
+
+    @Override
+    public Collection<BanEntry> loadAll() {
+        try {
+            return executor.submit(() -> {
+                List<BanEntry> entries = new ArrayList<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT uuid, name, reason, operator, date, until FROM bans")) {
+                    while (rs.next()) {
+                        entries.add(new BanEntry(
+                                UUID.fromString(rs.getString(1)),
+                                rs.getString(2),
+                                rs.getString(3),
+                                rs.getString(4),
+                                rs.getString(5),
+                                rs.getLong(6)
+                        ));
+                    }
+                }
+                return entries;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException e) {
+            logger.severe("Failed to load bans from " + file.getName() + ": " + e.getCause().getMessage());
+            return List.of();
+        }
+    }
+
+    boolean isEmpty() {
+        try {
+            return executor.submit(() -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT 1 FROM bans LIMIT 1")) {
+                    return !rs.next();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.severe("Failed to query " + file.getName() + ": " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void save(BanEntry entry) {
+        saveAll(List.of(entry));
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        deleteAll(List.of(uuid));
+    }
+
+    @Override
+    public void saveAll(Collection<BanEntry> entries) {
+        if (entries.isEmpty()) return;
+        List<BanEntry> batch = List.copyOf(entries);
+        executor.execute(() -> {
+            try {
+                inTransaction(UPSERT, statement -> bindBans(statement, batch));
+            } catch (SQLException e) {
+                logger.severe("Failed to save ban data: " + e.getMessage());
+            }
+        });
+    }
+
+    // Writes everything in one transaction and waits for it, so callers know the data is committed
+    void importAll(Collection<BanEntry> entries, Collection<IpBan> ipBans) throws SQLException {
+        List<BanEntry> batch = List.copyOf(entries);
+        List<IpBan> ipBatch = List.copyOf(ipBans);
+        try {
+            executor.submit(() -> {
+                connection.setAutoCommit(false);
+                try (PreparedStatement bans = connection.prepareStatement(UPSERT);
+                     PreparedStatement ips = connection.prepareStatement(UPSERT_IP)) {
+                    bindBans(bans, batch);
+                    bans.executeBatch();
+                    for (IpBan ban : ipBatch) bindIpBan(ips, ban);
+                    ips.executeBatch();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while importing into " + file.getName(), e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException sql ? sql : new SQLException(e.getCause());
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) return;
+        List<UUID> batch = List.copyOf(uuids);
+        executor.execute(() -> {
+            try {
+                inTransaction(DELETE, statement -> {
+                    for (UUID uuid : batch) {
+                        statement.setString(1, uuid.toString());
+                        statement.addBatch();
+                    }
+                });
+            } catch (SQLException e) {
+                logger.severe("Failed to delete ban data: " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public Collection<IpBan> loadIpBans() {
+        try {
+            return executor.submit(() -> {
+                List<IpBan> bans = new ArrayList<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT range, reason, operator, date, until FROM ip_bans")) {
+                    while (rs.next()) {
+                        IpRange range = IpRange.parse(rs.getString(1));
+                        if (range == null) continue;
+                        bans.add(new IpBan(range, rs.getString(2), rs.getString(3), rs.getString(4), rs.getLong(5)));
+                    }
+                }
+                return bans;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException e) {
+            logger.severe("Failed to load IP bans from " + file.getName() + ": " + e.getCause().getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public void saveIpBan(IpBan ban) {
+        executor.execute(() -> {
+            try {
+                inTransaction(UPSERT_IP, statement -> bindIpBan(statement, ban));
+            } catch (SQLException e) {
+                logger.severe("Failed to save IP ban: " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void deleteIpBans(Collection<IpRange> ranges) {
+        if (ranges.isEmpty()) return;
+        List<IpRange> batch = List.copyOf(ranges);
+        executor.execute(() -> {
+            try {
+                inTransaction(DELETE_IP, statement -> {
+                    for (IpRange range : batch) {
+                        statement.setString(1, range.toString());
+                        statement.addBatch();
+                    }
+                });
+            } catch (SQLException e) {
+                logger.severe("Failed to delete IP bans: " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.execute(() -> {
+            try {
+                if (connection != null) connection.close();
+            } catch (SQLException e) {
+                logger.severe("Failed to close " + file.getName() + ": " + e.getMessage());
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for pending ban writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void inTransaction(String sql, StatementBinder binder) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void bindBans(PreparedStatement statement, List<BanEntry> bans) throws SQLException {
+        for (BanEntry ban : bans) {
+            statement.setString(1, ban.uuid().toString());
+            statement.setString(2, ban.name());
+            statement.setString(3, ban.reason());
+            statement.setString(4, ban.operator());
+            statement.setString(5, ban.date());
+            statement.setLong(6, ban.until());
+            statement.addBatch();
+        }
+    }
+
+    private static void bindIpBan(PreparedStatement statement, IpBan ban) throws SQLException {
+        statement.setString(1, ban.range().toString());
+        statement.setString(2, ban.reason());
+        statement.setString(3, ban.operator());
+        statement.setString(4, ban.date());
+        statement.setLong(5, ban.until());
+        statement.addBatch();
+    }
+
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
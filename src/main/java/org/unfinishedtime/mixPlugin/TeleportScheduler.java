@@ -0,0 +1,271 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+final class TeleportScheduler {
+
+    private record ChunkKey(UUID world, int x, int z) {}
+
+    private static final class PendingTeleport {
+        private final Location destination;
+        private final UUID worldId;
+        private final Consumer<Player> onArrive;
+        private final int[] chunks;
+        private final long queuedTick;
+        private int ticketed;
+
+        private PendingTeleport(Location destination, UUID worldId, Consumer<Player> onArrive, int[] chunks, long queuedTick) {
+            this.destination = destination;
+            this.worldId = worldId;
+            this.onArrive = onArrive;
+            this.chunks = chunks;
+            this.queuedTick = queuedTick;
+        }
+
+        private boolean isReady() {
+            return ticketed * 2 == chunks.length;
+        }
+    }
+
+    private final Plugin plugin;
+    private final int chunkRadius;
+    private final int chunksPerTick;
+    private final int teleportsPerTick;
+    private final Metrics.Timer teleportTimer;
+    private final LinkedHashMap<UUID, PendingTeleport> queue = new LinkedHashMap<>();
+    private final Map<ChunkKey, Integer> tickets = new HashMap<>();
+    private BukkitTask task;
+    private PendingTeleport pinned;
+
+    private long currentTick;
+    private int teleportsThisTick;
+    private long scheduled;
+    private long completed;
+    private long dropped;
+    private long chunksLoaded;
+    private long totalWaitTicks;
+    private int maxQueueDepth;
+
+    TeleportScheduler(Plugin plugin, int chunkRadius, int chunksPerTick, int teleportsPerTick, Metrics.Timer teleportTimer) {
+        this.plugin = plugin;
+        this.teleportTimer = teleportTimer;
+        this.chunkRadius = Math.max(0, chunkRadius);
+        this.chunksPerTick = Math.max(1, chunksPerTick);
+        this.teleportsPerTick = Math.max(1, teleportsPerTick);
+    }
+
+    void start() {
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    void stop() {
+        if (task != null) task.cancel();
+        task = null;
+        queue.clear();
+        pinned = null;
+        tickets.clear();
+        for (World world : Bukkit.getWorlds()) world.removePluginChunkTickets(plugin);
+    }
+
+    boolean schedule(Player player, Location destination, Consumer<Player> onArrive) {
+        World world = destination.getWorld();
+        if (world == null) return false;
+
+        int[] chunks = chunksAround(destination);
+        PendingTeleport pending = new PendingTeleport(destination.clone(), world.getUID(), onArrive, chunks, currentTick);
+        PendingTeleport replaced = queue.remove(player.getUniqueId());
+        if (replaced != null) {
+            releaseTickets(replaced);
+            dropped++;
+        }
+        scheduled++;
+
+        if (teleportsThisTick < teleportsPerTick && allLoaded(world, chunks)) {
+            complete(player, pending);
+            return true;
+        }
+        queue.put(player.getUniqueId(), pending);
+        maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        return false;
+    }
+
+    void cancel(UUID playerId) {
+        PendingTeleport pending = queue.remove(playerId);
+        if (pending != null) {
+            releaseTickets(pending);
+            dropped++;
+        }
+    }
+
+    void pin(Location center) {
+        World world = center.getWorld();
+        if (world == null) return;
+        unpin();
+        pinned = new PendingTeleport(center.clone(), world.getUID(), null, chunksAround(center), currentTick);
+        while (!pinned.isReady()) {
+            acquireTicket(world, pinned.chunks[pinned.ticketed * 2], pinned.chunks[pinned.ticketed * 2 + 1]);
+            pinned.ticketed++;
+        }
+    }
+
+    void unpin() {
+        if (pinned == null) return;
+        releaseTickets(pinned);
+        pinned = null;
+    }
+
+    boolean isPinned() {
+        return pinned != null;
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    int maxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    long scheduled() {
+        return scheduled;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    long completed() {
+        return completed;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    long chunksLoaded() {
+        return chunksLoaded;
+    }
+
+    double averageWaitTicks() {
+        return completed == 0 ? 0 : (double) totalWaitTicks / completed;
+    }
+
+    private void tick() {
+        currentTick++;
+        teleportsThisTick = 0;
+        if (queue.isEmpty()) return;
+
+        int chunkBudget = chunksPerTick;
+        Iterator<Map.Entry<UUID, PendingTeleport>> iterator = queue.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PendingTeleport> entry = iterator.next();
+            PendingTeleport pending = entry.getValue();
+            Player player = Bukkit.getPlayer(entry.getKey());
+            World world = pending.destination.getWorld();
+            if (player == null || !player.isOnline() || world == null || !pending.destination.isWorldLoaded()) {
+                iterator.remove();
+                releaseTickets(pending);
+                dropped++;
+                continue;
+            }
+
+            while (!pending.isReady() && chunkBudget > 0) {
+                int x = pending.chunks[pending.ticketed * 2];
+                int z = pending.chunks[pending.ticketed * 2 + 1];
+                if (!world.isChunkLoaded(x, z)) {
+                    chunkBudget--;
+                    chunksLoaded++;
+                }
+                acquireTicket(world, x, z);
+                pending.ticketed++;
+            }
+
+            if (pending.isReady() && teleportsThisTick < teleportsPerTick) {
+                iterator.remove();
+                complete(player, pending);
+            }
+            if (chunkBudget == 0 && teleportsThisTick >= teleportsPerTick) break;
+        }
+    }
+
+    private void complete(Player player, PendingTeleport pending) {
+        teleportsThisTick++;
+        long start = System.nanoTime();
+        player.teleport(pending.destination);
+        teleportTimer.record(System.nanoTime() - start);
+        releaseTickets(pending);
+        completed++;
+        totalWaitTicks += currentTick - pending.queuedTick;
+        if (pending.onArrive != null) pending.onArrive.accept(player);
+    }
+
+    private int[] chunksAround(Location center) {
+        int centerX = center.getBlockX() >> 4;
+        int centerZ = center.getBlockZ() >> 4;
+        int side = chunkRadius * 2 + 1;
+        int[] chunks = new int[side * side * 2];
+        int i = 0;
+        for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
+            for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
+                chunks[i++] = centerX + dx;
+                chunks[i++] = centerZ + dz;
+            }
+        }
+        return chunks;
+    }
+
+    private static boolean allLoaded(World world, int[] chunks) {
+        for (int i = 0; i < chunks.length; i += 2) {
+            if (!world.isChunkLoaded(chunks[i], chunks[i + 1])) return false;
+        }
+        return true;
+    }
+
+    private void acquireTicket(World world, int x, int z) {
+        if (tickets.merge(new ChunkKey(world.getUID(), x, z), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(x, z, plugin);
+        }
+    }
+
+    private void releaseTickets(PendingTeleport pending) {
+        World world = pending.destination.getWorld();
+        for (int i = 0; i < pending.ticketed; i++) {
+            int x = pending.chunks[i * 2];
+            int z = pending.chunks[i * 2 + 1];
+            ChunkKey key = new ChunkKey(pending.worldId, x, z);
+            Integer remaining = tickets.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null && world != null && pending.destination.isWorldLoaded()) {
+                world.removePluginChunkTicket(x, z, plugin);
+            }
+        }
+        pending.ticketed = 0;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class TpaRequestManager {
+
+    static final class Request {
+        private final UUID requester;
+        private final UUID target;
+        private final long expiresAt;
+        private boolean active = true;
+
+        private Request(UUID requester, UUID target, long expiresAt) {
+            this.requester = requester;
+            this.target = target;
+            this.expiresAt = expiresAt;
+        }
+
+        UUID requester() {
+            return requester;
+        }
+
+        UUID target() {
+            return target;
+        }
+
+        boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+
+    enum Result { CREATED, REFRESHED, REQUESTER_LIMIT }
+
+    private static final int WHEEL_SLOTS = 256;
+
+    private final long timeoutMillis;
+    private final int maxPerTarget;
+    private final int maxPerRequester;
+    private final Map<UUID, LinkedHashMap<UUID, Request>> incoming = new HashMap<>();
+    private final Map<UUID, List<Request>> outgoing = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Request>[] wheel = new ArrayDeque[WHEEL_SLOTS];
+    private long cursorSecond = -1;
+    private int size;
+
+    TpaRequestManager(long timeoutMillis, int maxPerTarget, int maxPerRequester) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxPerTarget = Math.max(1, maxPerTarget);
+        this.maxPerRequester = Math.max(1, maxPerRequester);
+        for (int i = 0; i < WHEEL_SLOTS; i++) wheel[i] = new ArrayDeque<>();
+    }
+
+    Result create(UUID requester, UUID target, long now) {
+        LinkedHashMap<UUID, Request> requests = incoming.computeIfAbsent(target, key -> new LinkedHashMap<>());
+        Request existing = requests.remove(requester);
+        if (existing != null) deactivate(existing);
+
+        List<Request> sent = outgoing.get(requester);
+        if (existing == null && sent != null && sent.size() >= maxPerRequester) {
+            if (requests.isEmpty()) incoming.remove(target);
+            return Result.REQUESTER_LIMIT;
+        }
+
+        if (requests.size() >= maxPerTarget) {
+            Iterator<Request> oldest = requests.values().iterator();
+            Request evicted = oldest.next();
+            oldest.remove();
+            deactivate(evicted);
+        }
+
+        Request request = new Request(requester, target, now + timeoutMillis);
+        requests.put(requester, request);
+        outgoing.computeIfAbsent(requester, key -> new ArrayList<>(2)).add(request);
+        size++;
+        if (cursorSecond < 0) cursorSecond = now / 1000;
+        wheel[(int) ((request.expiresAt / 1000 + 1) % WHEEL_SLOTS)].add(request);
+        return existing != null ? Result.REFRESHED : Result.CREATED;
+    }
+
+    Request take(UUID target, UUID requester) {
+        Request request = find(target, requester);
+        if (request != null) remove(request);
+        return request;
+    }
+
+    Request find(UUID target, UUID requester) {
+        LinkedHashMap<UUID, Request> requests = incoming.get(target);
+        if (requests == null || requests.isEmpty()) return null;
+
+        if (requester != null) return requests.get(requester);
+        Request request = null;
+        for (Request candidate : requests.values()) request = candidate;
+        return request;
+    }
+
+    List<UUID> pendingRequesters(UUID target) {
+        LinkedHashMap<UUID, Request> requests = incoming.get(target);
+        if (requests == null) return Collections.emptyList();
+        return new ArrayList<>(requests.keySet());
+    }
+
+    List<Request> clear(UUID playerId) {
+        List<Request> removed = new ArrayList<>();
+        LinkedHashMap<UUID, Request> requests = incoming.get(playerId);
+        if (requests != null) removed.addAll(requests.values());
+        List<Request> sent = outgoing.get(playerId);
+        if (sent != null) removed.addAll(sent);
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    List<Request> sweep(long now) {
+        if (size == 0) {
+            if (cursorSecond >= 0) {
+                for (ArrayDeque<Request> slot : wheel) slot.clear();
+                cursorSecond = -1;
+            }
+            return Collections.emptyList();
+        }
+
+        long nowSecond = now / 1000;
+        if (nowSecond - cursorSecond >= WHEEL_SLOTS) cursorSecond = nowSecond - WHEEL_SLOTS + 1;
+
+        List<Request> expired = new ArrayList<>();
+        for (; cursorSecond <= nowSecond; cursorSecond++) {
+            Iterator<Request> slot = wheel[(int) (cursorSecond % WHEEL_SLOTS)].iterator();
+            while (slot.hasNext()) {
+                Request request = slot.next();
+                if (!request.active) {
+                    slot.remove();
+                } else if (request.isExpired(now)) {
+                    slot.remove();
+                    remove(request);
+                    expired.add(request);
+                }
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void remove(Request request) {
+        if (!request.active) return;
+        LinkedHashMap<UUID, Request> requests = incoming.get(request.target);
+        if (requests != null) {
+            requests.remove(request.requester, request);
+            if (requests.isEmpty()) incoming.remove(request.target);
+        }
+        deactivate(request);
+    }
+
+    private void deactivate(Request request) {
+        if (!request.active) return;
+        request.active = false;
+        size--;
+        List<Request> sent = outgoing.get(request.requester);
+        if (sent != null) {
+            sent.remove(request);
+            if (sent.isEmpty()) outgoing.remove(request.requester);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+final class WarpRegistry {
+
+    record Warp(String name, SpawnRegistry.SpawnPoint point) {}
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    private static final String EXTENSION = ".yml";
+
+    private final File directory;
+    private final DataWriter writer;
+    private final Logger logger;
+    private final TreeMap<String, Warp> warps = new TreeMap<>();
+    private final LocationGrid<Warp> grid = new LocationGrid<>();
+    private final Map<String, Location> locations = new HashMap<>();
+
+    WarpRegistry(File directory, DataWriter writer, Logger logger) {
+        this.directory = directory;
+        this.writer = writer;
+        this.logger = logger;
+    }
+
+    static boolean isValidName(String name) {
+        return VALID_NAME.matcher(name).matches();
+    }
+
+    void load() {
+        warps.clear();
+        grid.clear();
+        invalidate();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warning("Failed to create " + directory.getName() + " directory");
+            return;
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) return;
+        for (File file : files) {
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+            String name = yaml.getString("name", file.getName().substring(0, file.getName().length() - EXTENSION.length()));
+            SpawnRegistry.SpawnPoint point = SpawnRegistry.SpawnPoint.parse(yaml.get("location"));
+            if (point == null || !isValidName(name)) {
+                logger.warning("Skipping invalid warp file " + file.getName());
+                continue;
+            }
+            index(new Warp(name, point));
+        }
+    }
+
+    int size() {
+        return warps.size();
+    }
+
+    Collection<Warp> all() {
+        return warps.values();
+    }
+
+    Warp get(String name) {
+        return warps.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    Location location(Warp warp) {
+        Location location = locations.computeIfAbsent(warp.name().toLowerCase(Locale.ROOT), key -> warp.point().toLocation());
+        return location != null ? location.clone() : null;
+    }
+
+    Warp set(String name, Location location) {
+        Warp warp = new Warp(name, SpawnRegistry.SpawnPoint.of(location));
+        unindex(warp.name());
+        index(warp);
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("name", warp.name());
+        yaml.set("location", warp.point().serialize());
+        String data = yaml.saveToString();
+        writer.markDirty(file(warp.name()), () -> data);
+        return warp;
+    }
+
+    boolean remove(String name) {
+        if (!unindex(name)) return false;
+        writer.markDeleted(file(name));
+        return true;
+    }
+
+    Warp nearest(Location location) {
+        return grid.nearest(location.getWorld().getName(), location.getX(), location.getZ());
+    }
+
+    List<Warp> within(Location location, double radius, int limit) {
+        return grid.within(location.getWorld().getName(), location.getX(), location.getZ(), radius, limit);
+    }
+
+    List<String> complete(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>();
+        for (Warp warp : warps.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            result.add(warp.name());
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    void invalidate() {
+        locations.clear();
+    }
+
+    private void index(Warp warp) {
+        warps.put(warp.name().toLowerCase(Locale.ROOT), warp);
+        SpawnRegistry.SpawnPoint point = warp.point();
+        grid.put(point.world(), point.x(), point.z(), warp);
+    }
+
+    private boolean unindex(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Warp existing = warps.remove(key);
+        if (existing == null) return false;
+        SpawnRegistry.SpawnPoint point = existing.point();
+        grid.remove(point.world(), point.x(), point.z(), existing);
+        locations.remove(key);
+        return true;
+    }
+
+    private File file(String name) {
+        return new File(directory, name.toLowerCase(Locale.ROOT) + EXTENSION);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * MixPlugin - A simple Minecraft plugin
+ * Copyright (c) 2025 Unfinished-time
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.unfinishedtime.mixPlugin;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+final class YamlBanStore implements BanStore {
+
+    private static final int RECENT_WRITES = 8;
+
+    private record Rendered(List<BanEntry> bans, List<IpBan> ipBans, BanSnapshot.Stamp stamp) {}
+
+    // Keys of the bans.yml content this plugin last loaded or wrote; external edits may only remove these
+    record Written(Set<UUID> bans, Set<IpRange> ipBans) {
+
+        static Written of(Collection<BanEntry> bans, Collection<IpBan> ipBans) {
+            Set<UUID> uuids = new HashSet<>();
+            for (BanEntry ban : bans) uuids.add(ban.uuid());
+            Set<IpRange> ranges = new HashSet<>();
+            for (IpBan ban : ipBans) ranges.add(ban.range());
+            return new Written(Set.copyOf(uuids), Set.copyOf(ranges));
+        }
+    }
+
+    private final File file;
+    private final File snapshotFile;
+    private final DataWriter writer;
+    private final Logger logger;
+    private final Supplier<Collection<BanEntry>> source;
+    private final Supplier<Collection<IpBan>> ipSource;
+    private final Deque<Integer> recentWrites = new ArrayDeque<>();
+    private Rendered rendered;
+    private volatile Written lastWritten = new Written(Set.of(), Set.of());
+    private List<IpBan> loadedIpBans;
+
+    YamlBanStore(File file, File snapshotFile, DataWriter writer, Logger logger,
+                 Supplier<Collection<BanEntry>> source, Supplier<Collection<IpBan>> ipSource) {
+        this.file = file;
+        this.snapshotFile = snapshotFile;
+        this.writer = writer;
+        this.logger = logger;
+        this.source = source;
+        this.ipSource = ipSource;
+    }
+
+    @Override
+    public Collection<BanEntry> loadAll() {
+        BanSnapshot.Stamp stamp = BanSnapshot.Stamp.of(file);
+        try {
+            BanSnapshot.Contents contents = BanSnapshot.read(snapshotFile, stamp);
+            if (contents != null) {
+                loadedIpBans = contents.ipBans();
+                lastWritten = Written.of(contents.bans(), loadedIpBans);
+                return contents.bans();
+            }
+        } catch (IOException e) {
+            logger.warning("Ignoring " + snapshotFile.getName() + ": " + e.getMessage());
+        }
+
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        List<BanEntry> bans = parse(yaml.getConfigurationSection("bans"));
+        loadedIpBans = parseIpBans(yaml.getMapList("ip-bans"));
+        lastWritten = Written.of(bans, loadedIpBans);
+        // The stamp was taken before reading, so an edit made while parsing makes the snapshot stale rather than wrong
+        queueSnapshot(new Rendered(bans, loadedIpBans, stamp));
+        return bans;
+    }
+
+    @Override
+    public void save(BanEntry entry) {
+        markDirty();
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        markDirty();
+    }
+
+    @Override
+    public void saveAll(Collection<BanEntry> entries) {
+        markDirty();
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> uuids) {
+        markDirty();
+    }
+
+    @Override
+    public Collection<IpBan> loadIpBans() {
+        List<IpBan> ipBans = loadedIpBans;
+        loadedIpBans = null;
+        return ipBans != null ? ipBans : parseIpBans(YamlConfiguration.loadConfiguration(file).getMapList("ip-bans"));
+    }
+
+    @Override
+    public void saveIpBan(IpBan ban) {
+        markDirty();
+    }
+
+    @Override
+    public void deleteIpBans(Collection<IpRange> ranges) {
+        markDirty();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void markDirty() {
+        writer.markDirty(file, this::render, this::written);
+    }
+
+    private String render() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        ConfigurationSection bansSection = yaml.createSection("bans");
+        List<BanEntry> bans = new ArrayList<>(source.get());
+        for (BanEntry ban : bans) {
+            String path = ban.uuid().toString();
+            if (ban.name() != null) bansSection.set(path + ".name", ban.name());
+            bansSection.set(path + ".reason", ban.reason());
+            bansSection.set(path + ".operator", ban.operator());
+            bansSection.set(path + ".until", ban.until());
+            bansSection.set(path + ".date", ban.date());
+        }
+        List<Map<String, Object>> ipBans = new ArrayList<>();
+        List<IpBan> ipBanEntries = new ArrayList<>(ipSource.get());
+        for (IpBan ban : ipBanEntries) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("range", ban.range().toString());
+            values.put("reason", ban.reason());
+            values.put("operator", ban.operator());
+            values.put("until", ban.until());
+            if (ban.date() != null) values.put("date", ban.date());
+            ipBans.add(values);
+        }
+        if (!ipBans.isEmpty()) yaml.set("ip-bans", ipBans);
+        String content = yaml.saveToString();
+        synchronized (recentWrites) {
+            if (recentWrites.size() >= RECENT_WRITES) recentWrites.removeFirst();
+            recentWrites.addLast(content.hashCode());
+        }
+        rendered = new Rendered(bans, ipBanEntries, null);
+        return content;
+    }
+
+    // Runs on the writer thread right after render()'s content reached bans.yml. The snapshot is stamped with what
+    // was written; if the file no longer has that size, someone else changed it and the snapshot is not refreshed.
+    private void written(long size) {
+        Rendered source = rendered;
+        rendered = null;
+        if (source == null) return;
+        lastWritten = Written.of(source.bans(), source.ipBans());
+        BanSnapshot.Stamp stamp = BanSnapshot.Stamp.of(file);
+        if (stamp.size() != size) return;
+        queueSnapshot(new Rendered(source.bans(), source.ipBans(), stamp));
+    }
+
+    private void queueSnapshot(Rendered source) {
+        writer.markDirtyBytes(snapshotFile, () -> BanSnapshot.encode(source.bans(), source.ipBans(), source.stamp()));
+    }
+
+    Written lastWritten() {
+        return lastWritten;
+    }
+
+    boolean isOwnWrite(String content) {
+        synchronized (recentWrites) {
+            return recentWrites.contains(content.hashCode());
+        }
+    }
+
+    static List<BanEntry> parse(ConfigurationSection bansSection) {
+        List<BanEntry> entries = new ArrayList<>();
+        if (bansSection == null) return entries;
+        for (String key : bansSection.getKeys(false)) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            entries.add(new BanEntry(
+                    uuid,
+                    bansSection.getString(key + ".name"),
+                    bansSection.getString(key + ".reason", "违反服务器规则"),
+                    bansSection.getString(key + ".operator", "系统"),
+                    bansSection.getString(key + ".date"),
+                    bansSection.getLong(key + ".until", 0)
+            ));
+        }
+        return entries;
+    }
+
+    static List<IpBan> parseIpBans(List<Map<?, ?>> values) {
+        List<IpBan> bans = new ArrayList<>();
+        for (Map<?, ?> map : values) {
+            IpRange range = map.get("range") instanceof String text ? IpRange.parse(text) : null;
+            if (range == null) continue;
+            bans.add(new IpBan(
+                    range,
+                    map.get("reason") instanceof String reason ? reason : "违反服务器规则",
+                    map.get("operator") instanceof String operator ? operator : "系统",
+                    map.get("date") instanceof String date ? date : null,
+                    map.get("until") instanceof Number until ? until.longValue() : 0
+            ));
+        }
+        return bans;
+    }
+}